@@ -0,0 +1,22 @@
+package Minigames.benchmarks;
+
+import Minigames.util.HeadlessRunner;
+import com.badlogic.gdx.ApplicationAdapter;
+import com.badlogic.gdx.backends.headless.HeadlessApplication;
+import com.badlogic.gdx.backends.headless.HeadlessApplicationConfiguration;
+
+// Shared setup for the update benchmarks: a headless libGDX application (for Gdx.files) and the minigames' Headless mode.
+// Run all benchmarks with: mvn compile exec:exec -Pbenchmarks
+
+public class BenchmarkSetup {
+    public static final float FRAME = 1 / 60f;
+
+    private static HeadlessApplication app;
+
+    public static synchronized void start() {
+        if (app == null) {
+            app = new HeadlessApplication(new ApplicationAdapter() {}, new HeadlessApplicationConfiguration());
+            HeadlessRunner.setup(1234L); //same seed every run, so runs can be compared
+        }
+    }
+}
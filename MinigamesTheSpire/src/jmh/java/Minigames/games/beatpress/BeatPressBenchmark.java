@@ -0,0 +1,46 @@
+package Minigames.games.beatpress;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import com.badlogic.gdx.math.MathUtils;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeatPressBenchmark {
+    private BeatPress game;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        restart();
+    }
+
+    private void restart() {
+        if (game != null)
+            game.dispose();
+
+        game = new BeatPress();
+        game.initialize();
+        //two extra sets of hard patterns on top of the normal ones, so a lot of balls are active at once
+        game.useSchedule(new BeatSchedule.Builder()
+                .addPatterns(6, 0.3f, 0.05f, 4, MathUtils.random)
+                .addPatterns(6, 0f, 1f, 4, MathUtils.random)
+                .addPatterns(6, 0f, 1f, 4, MathUtils.random)
+                .build());
+        game.phase = 2;
+    }
+
+    //One frame of phase 2. Restarting once the balls run out is included, spread over the thousands of frames a game lasts.
+    @Benchmark
+    public void ballPhase() {
+        if (game.phase != 2)
+            restart();
+        game.update(BenchmarkSetup.FRAME);
+    }
+}
@@ -0,0 +1,77 @@
+package Minigames.games.blackjack;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// Sweeps BlackjackSimulator over rule variants, starting gold and strategies. The hands counter is reported as
+// hands/min; each invocation also logs the expected gold per visit for its rules, which is what the sweep is for.
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class BlackjackSimulatorBenchmark {
+    private static final long SESSIONS = 1 << 18;
+
+    @Param({"default", "singleDeck", "shallowShoe", "pays2x", "dealerStands16", "highStakes"})
+    public String variant;
+
+    @Param({"50", "100", "250"})
+    public int startingGold;
+
+    @Param({"MIMIC_DEALER", "BASIC"})
+    public String strategy;
+
+    private BlackjackRules rules;
+    private BlackjackSimulator.Strategy player;
+    private long seed;
+
+    //Hands played during the iteration, reported by JMH per minute
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Hands {
+        public long hands;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            hands = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        rules = getRules(variant);
+        player = strategy.equals("BASIC") ? BlackjackSimulator.BASIC : BlackjackSimulator.MIMIC_DEALER;
+    }
+
+    private static BlackjackRules getRules(String variant) {
+        BlackjackRules d = BlackjackRules.DEFAULT;
+        switch (variant) {
+            case "singleDeck":
+                return new BlackjackRules(1, d.penetration, d.dealerStandsOn, d.payOutMultiplier, d.minBet, d.maxBet, d.maxPlays);
+            case "shallowShoe":
+                return new BlackjackRules(d.decks, 0.5f, d.dealerStandsOn, d.payOutMultiplier, d.minBet, d.maxBet, d.maxPlays);
+            case "pays2x":
+                return new BlackjackRules(d.decks, d.penetration, d.dealerStandsOn, 2, d.minBet, d.maxBet, d.maxPlays);
+            case "dealerStands16":
+                return new BlackjackRules(d.decks, d.penetration, 16, d.payOutMultiplier, d.minBet, d.maxBet, d.maxPlays);
+            case "highStakes":
+                return new BlackjackRules(d.decks, d.penetration, d.dealerStandsOn, d.payOutMultiplier, d.minBet * 2, d.maxBet * 2, d.maxPlays);
+            default:
+                return d;
+        }
+    }
+
+    //A new seed every invocation, so the sweep doesn't replay the same sessions
+    @Benchmark
+    public BlackjackSimulator.Result simulate(Hands counter) {
+        BlackjackSimulator.Result result = BlackjackSimulator.run(rules, player, startingGold, SESSIONS, ++seed);
+        counter.hands += result.hands;
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package Minigames.games.fishing;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import Minigames.games.fishing.phases.AbstractGamePhase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CatchPhaseBenchmark {
+    private FishingGame game;
+    private AbstractGamePhase catchPhase;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        restart();
+    }
+
+    private void restart() {
+        if (game != null)
+            game.dispose();
+
+        game = new FishingGame();
+        game.initialize();
+        catchPhase = game.gamePhase;
+    }
+
+    //One update of the catch phase, without input: the catcher falls and bounces while the fish moves.
+    @Benchmark
+    public void update() {
+        if (catchPhase.isDone || catchPhase.waiting)
+            restart();
+        catchPhase.update(BenchmarkSetup.FRAME);
+    }
+}
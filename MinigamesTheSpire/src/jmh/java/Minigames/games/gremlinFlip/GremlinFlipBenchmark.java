@@ -0,0 +1,34 @@
+package Minigames.games.gremlinFlip;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GremlinFlipBenchmark {
+    private gremlinFlip game;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        game = new gremlinFlip();
+        game.initialize();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        game.dispose();
+    }
+
+    //One frame of the board waiting for a click. Without input, the game stays in this phase.
+    @Benchmark
+    public void boardUpdate() {
+        game.update(BenchmarkSetup.FRAME);
+    }
+}
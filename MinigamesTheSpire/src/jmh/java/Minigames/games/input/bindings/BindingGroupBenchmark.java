@@ -0,0 +1,87 @@
+package Minigames.games.input.bindings;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input;
+import com.badlogic.gdx.backends.headless.mock.input.MockInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// BindingGroup's per-frame update and key presses with some keys held down. Run with -prof gc (the benchmarks profile
+// does) to check that neither allocates.
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindingGroupBenchmark {
+    @Param({"1", "10", "60"})
+    public int heldKeys;
+
+    private BindingGroup bindings;
+    private HeldKeysInput input;
+    private int pressedKey; //bound, but not held
+    private int repeats;
+
+    //Reports the keys the benchmark holds as pressed, so update doesn't release them
+    private static class HeldKeysInput extends MockInput {
+        private final boolean[] held = new boolean[256];
+
+        @Override
+        public boolean isKeyPressed(int key) {
+            return key >= 0 && key < held.length && held[key];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        input = new HeldKeysInput();
+        Gdx.input = input;
+
+        bindings = new BindingGroup();
+        int[] keys = new int[heldKeys + 1];
+        int n = 0;
+        for (int keycode = Input.Keys.A; n < keys.length; ++keycode) {
+            if (!isModifier(keycode))
+                keys[n++] = keycode;
+        }
+
+        //one binding per key, each with a hold that repeats every few frames
+        for (int keycode : keys) {
+            bindings.addBinding(InputBinding.create("Key" + keycode, new InputBinding.InputInfo(keycode)));
+            bindings.bind("Key" + keycode, () -> {}, new KeyHoldObject(keycode, 0.1f, k -> ++repeats, null), () -> {});
+        }
+        bindings.createInputMap();
+
+        for (int i = 0; i < heldKeys; ++i) {
+            input.held[keys[i]] = true;
+            bindings.receiveKeyDown(keys[i]);
+        }
+        pressedKey = keys[heldKeys];
+    }
+
+    private static boolean isModifier(int keycode) {
+        return keycode == Input.Keys.SHIFT_LEFT || keycode == Input.Keys.SHIFT_RIGHT ||
+                keycode == Input.Keys.ALT_LEFT || keycode == Input.Keys.ALT_RIGHT ||
+                keycode == Input.Keys.CONTROL_LEFT || keycode == Input.Keys.CONTROL_RIGHT;
+    }
+
+    //One frame: every held key is still pressed, and their holds tick
+    @Benchmark
+    public int update() {
+        bindings.update(BenchmarkSetup.FRAME);
+        return repeats;
+    }
+
+    //Pressing and releasing one more key while the others are held
+    @Benchmark
+    public boolean keyDown() {
+        boolean result = bindings.receiveKeyDown(pressedKey);
+        bindings.receiveKeyUp(pressedKey);
+        return result;
+    }
+}
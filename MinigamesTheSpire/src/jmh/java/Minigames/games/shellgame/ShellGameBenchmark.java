@@ -0,0 +1,46 @@
+package Minigames.games.shellgame;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShellGameBenchmark {
+    private static final int SWAPS = 20; //as many as the hardest difficulty
+
+    private ShellGame game;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        restart();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        game.dispose();
+    }
+
+    private void restart() {
+        if (game != null)
+            game.dispose();
+
+        game = new ShellGame();
+        game.initializeSwaps(SWAPS);
+    }
+
+    //One frame of the swap phase: the shells moving, and decideSwap picking the next swap whenever one finishes.
+    //Starts over once every swap is done.
+    @Benchmark
+    public void swapUpdate() {
+        if (game.phase != 2)
+            restart();
+        game.update(BenchmarkSetup.FRAME);
+    }
+}
@@ -0,0 +1,126 @@
+package Minigames.games.slimePopper;
+
+import Minigames.benchmarks.BenchmarkSetup;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SlimePopperBenchmark {
+    private SlimePopper game;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchmarkSetup.start();
+        restart();
+    }
+
+    private void restart() {
+        if (game != null)
+            game.dispose();
+
+        game = new SlimePopper();
+        game.initialize();
+        game.phase = 0;
+    }
+
+    //One frame of a whole game, clicking as soon as it waits for input, so nearly all frames are the bounce and
+    //collision phases (2 and 6). Setting up the boards is included.
+    @Benchmark
+    public void update() {
+        switch (game.phase) {
+            case 1:
+            case 4:
+                game.handleClick(null);
+                break;
+            case 7:
+                restart();
+                break;
+        }
+        game.update(BenchmarkSetup.FRAME);
+    }
+
+    @State(Scope.Thread)
+    public static class Stress {
+        @Param({"100", "500", "2000"})
+        public int slimes;
+
+        @Param({"2", "10"})
+        public int lice;
+
+        private SlimePopper game;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkSetup.start();
+            game = new SlimePopper();
+            game.initialize();
+            game.startStressTest(slimes, lice);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            game.dispose();
+        }
+    }
+
+    //One frame of the stress board: bouncing, the collision broad phase and refilling popped slimes.
+    //Once the arrays have grown this doesn't allocate, gc.alloc.rate.norm from -prof gc should stay at ~0 B/op.
+    @Benchmark
+    public void stress(Stress state) {
+        state.game.update(BenchmarkSetup.FRAME);
+    }
+
+    @State(Scope.Thread)
+    public static class Popping {
+        private SlimePopper game;
+        private int waited; //frames the current phase has waited for a click
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkSetup.start();
+            game = new SlimePopper();
+            game.initialize();
+            game.phase = 0;
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            game.dispose();
+        }
+
+        //One frame, clicking after the game has waited half a second in the given phase
+        void step(int clickPhase) {
+            if (game.phase == clickPhase && ++waited > 30) {
+                waited = 0;
+                game.handleClick(null);
+            }
+            game.update(BenchmarkSetup.FRAME);
+        }
+    }
+
+    //One frame of the first board, replayed every time it ends: the meter, then the lice bouncing and popping slimes
+    //until they stop. Setting the board up again is included once per replay (about 600 frames), like in a game, so
+    //gc.alloc.rate.norm from -prof gc should stay around 1 B/op.
+    @Benchmark
+    public void popping(Popping state) {
+        if (state.game.phase >= 3)
+            state.game.phase = 0;
+        state.step(1);
+    }
+
+    //One frame of the second board, replayed every time it ends: the slimes wandering until the louse is launched, the
+    //louse going up, then the slimes popping and dying (phases 4 to 6). A replay is only about 75 frames, so setting
+    //the board up shows as a few B/op; the frames themselves allocate nothing.
+    @Benchmark
+    public void secondBoard(Popping state) {
+        if (state.game.phase < 3 || state.game.phase == 7)
+            state.game.phase = 3;
+        state.step(4);
+    }
+}
@@ -31,6 +31,7 @@ import org.apache.logging.log4j.Logger;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Properties;
 
 @SpireInitializer
 public class Minigames implements
@@ -39,12 +40,21 @@ public class Minigames implements
         AddAudioSubscriber,
         PostUpdateSubscriber {
     private static SpireConfig modConfig = null;
+    private static final String BEAT_PRESS_LATENCY = "beatPressLatency"; //milliseconds, set by Beat Press's calibration
 
     public static final Logger logger = LogManager.getLogger(Minigames.class.getName());
     public static final ArrayList<AbstractMinigame> srcMinigameList = new ArrayList<>();
 
     public static void initialize() {
         BaseMod.subscribe(new Minigames());
+
+        Properties defaults = new Properties();
+        defaults.setProperty(BEAT_PRESS_LATENCY, "0");
+        try {
+            modConfig = new SpireConfig(getModID(), "config", defaults);
+        } catch (IOException e) {
+            logger.error("Failed to load config", e);
+        }
     }
 
     private ModPanel settingsPanel;
@@ -127,6 +137,10 @@ public class Minigames implements
         return getModID() + "Resources/audio/" + resourcePath;
     }
 
+    public static String makeDataPath(String resourcePath) {
+        return getModID() + "Resources/data/" + resourcePath;
+    }
+
     public static String getModID() {
         return "minigames";
     }
@@ -135,7 +149,18 @@ public class Minigames implements
         return getModID() + ":" + input;
     }
 
-    private void saveConfig() {
+    public static int getBeatPressLatency() {
+        return modConfig == null ? 0 : modConfig.getInt(BEAT_PRESS_LATENCY);
+    }
+
+    public static void setBeatPressLatency(int milliseconds) {
+        if (modConfig != null) {
+            modConfig.setInt(BEAT_PRESS_LATENCY, milliseconds);
+            saveConfig();
+        }
+    }
+
+    private static void saveConfig() {
         try {
             modConfig.save();
         } catch (IOException e) {
@@ -1,9 +1,13 @@
 package Minigames.events;
 
+import Minigames.Minigames;
 import Minigames.games.AbstractMinigame;
+import Minigames.util.AssetPreloader;
+import Minigames.util.AtlasLookup;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
+import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.events.AbstractImageEvent;
 import com.megacrit.cardcrawl.events.GenericEventDialog;
 
@@ -22,19 +26,32 @@ public abstract class AbstractMinigameEvent extends AbstractImageEvent {
         {
             game.dispose(); //player quit in middle of a minigame, dispose the old one.
         }
+        AssetPreloader.releaseAll(); //games offered by an event that was left without playing
 
         //TODO - Decide if alt music should play for all minigames.  Is currently only playing in Shell Game.  Could also play only during minigame time.
         //CardCrawlGame.music.playTempBgmInstantly("minigames:carnivalMusic", true);
         noCardsInRewards = true;
     }
 
+    //start loading the offered games' assets while the player picks one
+    protected void preloadAssets(ArrayList<AbstractMinigame> offered)
+    {
+        for (AbstractMinigame minigame : offered) {
+            AssetPreloader.preload(minigame);
+        }
+    }
+
     protected void startGame(AbstractMinigame newGame)
     {
         this.imageEventText.clearAllDialogs();
         GenericEventDialog.hide();
 
+        AssetPreloader.releaseAllExcept(newGame);
+        AssetPreloader.finishLoading(newGame); //only waits on whatever didn't finish in the background
+
         game = newGame;
         game.initialize();
+        AssetPreloader.release(newGame); //the game holds its own references now
     }
 
     @Override
@@ -76,9 +93,12 @@ public abstract class AbstractMinigameEvent extends AbstractImageEvent {
     }
 
     public void update() {
+        AssetPreloader.update();
         if (game != null && game.playing())
         {
-            game.update(Gdx.graphics.getRawDeltaTime()); //no superfast mode shenangnagiagngas
+            int lookups = AtlasLookup.getCount();
+            game.tick(Gdx.graphics.getRawDeltaTime()); //no superfast mode shenangnagiagngas
+            checkLookups(lookups, "update");
 
             if (game.gameDone())
             {
@@ -94,7 +114,16 @@ public abstract class AbstractMinigameEvent extends AbstractImageEvent {
     public void render(SpriteBatch sb) {
         if (game != null && game.playing())
         {
-            game.render(sb);
+            int lookups = AtlasLookup.getCount();
+            game.render(sb, game.getAlpha());
+            checkLookups(lookups, "render");
+        }
+    }
+
+    //atlas regions should all be resolved when a game loads, not looked up by name every frame
+    private static void checkLookups(int before, String stage) {
+        if (Settings.isDebug && AtlasLookup.getCount() != before && game != null) {
+            Minigames.logger.warn((AtlasLookup.getCount() - before) + " atlas lookups during " + stage + " of " + game.getClass().getSimpleName());
         }
     }
 
@@ -36,6 +36,7 @@ public class ActThreeArcade extends AbstractMinigameEvent {
         for (AbstractMinigame minigame : chosenGames) {
             imageEventText.setDialogOption(minigame.getOption());
         }
+        preloadAssets(chosenGames);
     }
 
     @Override
@@ -35,6 +35,7 @@ public class ActTwoArcade extends AbstractMinigameEvent {
         for (AbstractMinigame minigame : chosenGames) {
             imageEventText.setDialogOption(minigame.getOption());
         }
+        preloadAssets(chosenGames);
     }
 
     @Override
@@ -2,12 +2,16 @@ package Minigames.games;
 
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.patches.Input;
-import Minigames.util.QueuedSound;
+import Minigames.util.Headless;
+import Minigames.util.SoundScheduler;
+import Minigames.util.TextureLoader;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import basemod.interfaces.TextReceiver;
 import basemod.patches.com.megacrit.cardcrawl.helpers.input.ScrollInputProcessor.TextInput;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.Vector2;
 import com.megacrit.cardcrawl.cards.AbstractCard;
@@ -15,9 +19,8 @@ import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.events.GenericEventDialog;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
 
-import java.util.PriorityQueue;
+import java.util.ArrayList;
 
 import static Minigames.Minigames.makeGamePath;
 
@@ -36,13 +39,20 @@ public abstract class AbstractMinigame implements TextReceiver {
 
     protected float time = 0;
 
+    //Fixed timestep, off unless a game calls setFixedTimestep.
+    //When on, update is always called with the same elapsed time, as many times as fit in the frame.
+    private float tickLength = 0; //seconds per update, 0 for one variable length update per frame
+    private int maxTicksPerFrame = 1; //a hitch longer than this many ticks is dropped instead of caught up on
+    private float accumulator = 0; //time not yet simulated
+    private float alpha = 1; //how far the frame is between the last update and the next one, 0-1
+
     public int phase = -2;
     //-2: Minigame area fading in.
     //-1: Displaying controls.
     //0 and up: Whatever you want. Use a switch statement, just stay at 0, doesn't really matter.
 
     //A sound thing, if you want it
-    public final PriorityQueue<QueuedSound> queuedSounds = new PriorityQueue<>();
+    public final SoundScheduler queuedSounds = new SoundScheduler();
 
     //Rendering stuff
     //640x640
@@ -71,21 +81,32 @@ public abstract class AbstractMinigame implements TextReceiver {
     public void initialize() {
         isPlaying = true;
 
-        TextInput.startTextReceiver(this);
-        blockingInput = true;
-
         BindingGroup b = getBindings();
-        b.allowEsc();
-        Input.setBindings(b);
-        background = ImageMaster.loadImage(makeGamePath("tempBG.png"));
+        if (!Headless.enabled) {
+            TextInput.startTextReceiver(this);
+            blockingInput = true;
+
+            b.allowEsc();
+            Input.setBindings(b);
+        }
+        background = TextureLoader.acquire(makeGamePath("tempBG.png"));
         transformScale(getMaxScale(), Settings.FAST_MODE ? 0.5f : 1.0f);
     }
 
+    //assets to load in the background while this game is being offered, so initialize doesn't stall on them
+    //textures acquired through TextureLoader should be declared with TextureLoader.descriptor
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        assets.add(TextureLoader.descriptor(makeGamePath("tempBG.png")));
+    }
+
     //dispose of loaded assets, if any
     public void dispose() {
-        background.dispose();
-        Input.clearBindings();
-        TextInput.stopTextReceiver(this);
+        queuedSounds.clear();
+        TextureLoader.release(background);
+        if (!Headless.enabled) {
+            Input.clearBindings();
+            TextInput.stopTextReceiver(this);
+        }
     }
 
     public boolean playing() {
@@ -96,22 +117,53 @@ public abstract class AbstractMinigame implements TextReceiver {
         return isDone;
     }
 
+    //Enables the fixed timestep. Call in the constructor or initialize.
+    protected void setFixedTimestep(int ticksPerSecond, int maxTicksPerFrame) {
+        this.tickLength = 1f / ticksPerSecond;
+        this.maxTicksPerFrame = maxTicksPerFrame;
+        this.accumulator = 0;
+    }
+
+    //Called by the event once per frame, calls update either once or at the fixed tick rate.
+    public void tick(float elapsed) {
+        if (tickLength <= 0) {
+            update(elapsed);
+            return;
+        }
+
+        accumulator += Math.min(elapsed, tickLength * maxTicksPerFrame);
+        while (accumulator >= tickLength && isPlaying && !isDone) {
+            update(tickLength);
+            accumulator -= tickLength;
+        }
+        alpha = accumulator / tickLength;
+    }
+
+    //Fraction of a tick that has passed since the last update, for interpolating between the previous and current state.
+    //Always 1 without a fixed timestep.
+    public float getAlpha() {
+        return tickLength <= 0 ? 1 : alpha;
+    }
+
     //will be called as long as isPlaying is true
+    //with a fixed timestep, elapsed is always the tick length
     public void update(float elapsed) {
-        if (CardCrawlGame.isPopupOpen || AbstractDungeon.screen != AbstractDungeon.CurrentScreen.NONE) {
-            if (blockingInput)
+        if (!Headless.enabled) {
+            if (CardCrawlGame.isPopupOpen || AbstractDungeon.screen != AbstractDungeon.CurrentScreen.NONE) {
+                if (blockingInput)
+                {
+                    blockingInput = false;
+                    TextInput.stopTextReceiver(this);
+                }
+            }
+            else if (!blockingInput)
             {
-                blockingInput = false;
-                TextInput.stopTextReceiver(this);
+                blockingInput = true;
+                TextInput.startTextReceiver(this);
             }
-        }
-        else if (!blockingInput)
-        {
-            blockingInput = true;
-            TextInput.startTextReceiver(this);
-        }
 
-        Input.update(elapsed);
+            Input.update(elapsed);
+        }
 
         if (scaleProgress < scaleTime)
         {
@@ -119,13 +171,7 @@ public abstract class AbstractMinigame implements TextReceiver {
             this.scale = Interpolation.linear.apply(initialScale, targetScale, Math.min(1, scaleProgress / scaleTime));
         }
 
-        QueuedSound s = queuedSounds.peek();
-        while (s != null && time > s.time)
-        {
-            CardCrawlGame.sound.play(s.key);
-            queuedSounds.remove();
-            s = queuedSounds.peek();
-        }
+        queuedSounds.sync(time, elapsed);
 
         switch (phase) {
             case -2:
@@ -151,6 +197,12 @@ public abstract class AbstractMinigame implements TextReceiver {
         }
     }
 
+    //alpha is the same as getAlpha. Override this instead of render(sb) to interpolate positions when using a fixed timestep.
+    public void render(SpriteBatch sb, float alpha)
+    {
+        render(sb);
+    }
+
     public void render(SpriteBatch sb)
     {
         //render background
@@ -183,6 +235,33 @@ public abstract class AbstractMinigame implements TextReceiver {
         sb.draw(t, this.x + x, this.y + y, -x, -y, width, height, scale, scale, this.angle + angle, originX, originY, originWidth, originHeight, flipX, flipY);
     }
 
+    //Same as the drawTexture family, for regions of a packed atlas. Texel coordinates are relative to the region.
+    //Drawing several regions of one atlas in a row doesn't flush the batch, unlike switching between textures.
+    public void drawRegion(SpriteBatch sb, TextureRegion r, float cX, float cY, int size)
+    {
+        drawRegion(sb, r, cX, cY, 0, size, size, false, false);
+    }
+    public void drawRegion(SpriteBatch sb, TextureRegion r, float cX, float cY, float angle, int baseWidth, int baseHeight, boolean flipX, boolean flipY)
+    {
+        sb.draw(subRegion(r, 0, 0, baseWidth, baseHeight, flipX, flipY), x + cX - baseWidth / 2.0f, y + cY - baseHeight / 2.0f, -(cX - baseWidth / 2.0f), -(cY - baseHeight / 2.0f), baseWidth, baseHeight, scale, scale, this.angle + angle);
+    }
+    public void drawRegion(SpriteBatch sb, TextureRegion r, float x, float y, float width, float height, float angle, int originWidth, int originHeight, boolean flipX, boolean flipY)
+    {
+        sb.draw(subRegion(r, 0, 0, originWidth, originHeight, flipX, flipY), this.x + x, this.y + y, -x, -y, width, height, scale, scale, this.angle + angle);
+    }
+    public void drawRegion(SpriteBatch sb, TextureRegion r, float x, float y, float width, float height, float angle, int originX, int originY, int originWidth, int originHeight, boolean flipX, boolean flipY)
+    {
+        sb.draw(subRegion(r, originX, originY, originWidth, originHeight, flipX, flipY), this.x + x, this.y + y, -x, -y, width, height, scale, scale, this.angle + angle);
+    }
+
+    private final TextureRegion drawnRegion = new TextureRegion(); //reused so drawing a region doesn't allocate
+    private TextureRegion subRegion(TextureRegion r, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY)
+    {
+        drawnRegion.setRegion(r, srcX, srcY, srcWidth, srcHeight);
+        drawnRegion.flip(flipX, flipY);
+        return drawnRegion;
+    }
+
 
     // Position/Scale control
     private float initialScale = 0.0f; //scale at start of transform
@@ -251,6 +330,12 @@ public abstract class AbstractMinigame implements TextReceiver {
         return cpy;
     }
 
+    //same as above, but writes the result to out instead of allocating a new vector
+    public Vector2 getRelativeVector(float baseX, float baseY, Vector2 out)
+    {
+        return out.set((baseX - x) / scale, (baseY - y) / scale);
+    }
+
     public boolean hasInstructionScreen = true;
     public void setupInstructionScreen(GenericEventDialog event) {
         event.updateBodyText("UPDATE BODY TEXT\n\nSet hasInstructionScreen to false in your constructor if you have no instructions!");
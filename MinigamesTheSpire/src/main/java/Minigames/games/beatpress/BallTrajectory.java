@@ -0,0 +1,107 @@
+package Minigames.games.beatpress;
+
+import com.badlogic.gdx.math.Interpolation;
+
+//Height of each type of ball over time since it started moving, sampled once and shared by every ball,
+//so Ball.update is a table lookup no matter how many balls are on screen.
+//A table covers the whole path of a ball that isn't hit: onto the blocks, to the middle, and then out the bottom of the area.
+class BallTrajectory {
+    private static final int SAMPLES_PER_SECOND = 240;
+    static final int FALL_AWAY_Y = -320; //bottom of the area
+
+    //time for C O N S T A N T S
+        //Roll
+        private static final int ROLL_START_Y = 400;
+        private static final int ROLL_Y_1 = 100 + 20;
+        private static final int ROLL_Y_2 = 50 + 20;
+        private static final int ROLL_Y_3 = 20;
+
+        //Bounce
+        private static final int BOUNCE_START_Y = 350; //use a more linear interpolation for first one
+        private static final int BOUNCE_Y_1 = 100 + 8;
+        private static final int BOUNCE_PEAK_Y_2 = 270 + 8;
+        private static final int BOUNCE_Y_2 = 50 + 8;
+        private static final int BOUNCE_PEAK_Y_3 = 190 + 8;
+        private static final int BOUNCE_Y_3 = 8;
+
+        //S p e e d
+        private static final int SPEED_START_Y = 200;
+        private static final int SPEED_PEAK_Y_1 = 300;
+        private static final int SPEED_Y_1 = 100 + 5;
+        private static final int SPEED_PEAK_Y_2 = 300;
+        private static final int SPEED_Y_2 = 5;
+
+    private static final BallTrajectory[] trajectories = new BallTrajectory[Ball.BallType.values().length];
+
+    static {
+        for (Ball.BallType type : Ball.BallType.values()) {
+            trajectories[type.ordinal()] = new BallTrajectory(type);
+        }
+    }
+
+    static BallTrajectory get(Ball.BallType type) {
+        return trajectories[type.ordinal()];
+    }
+
+    private final float[] y;
+
+    private BallTrajectory(Ball.BallType type) {
+        int length = 1;
+        while (height(type, (length - 1) / (float) SAMPLES_PER_SECOND) > FALL_AWAY_Y) {
+            ++length;
+        }
+
+        y = new float[length];
+        for (int i = 0; i < length; ++i) {
+            y[i] = height(type, i / (float) SAMPLES_PER_SECOND);
+        }
+    }
+
+    //Height at a time since the ball started. Past the end of the table the ball has already fallen out of the area.
+    float getY(float fromStart) {
+        float position = fromStart * SAMPLES_PER_SECOND;
+        int i = (int) position;
+        if (i < 0)
+            return y[0];
+        if (i >= y.length - 1)
+            return y[y.length - 1];
+        return y[i] + (y[i + 1] - y[i]) * (position - i);
+    }
+
+    //The path a ball follows while it isn't hit. Only used to fill the tables.
+    private static float height(Ball.BallType type, float fromStart) {
+        switch (type)
+        {
+            case ROLL:
+                if (fromStart < 1.0f) //falling from above onto first block
+                    return Interpolation.pow2In.apply(ROLL_START_Y, ROLL_Y_1, Math.min(1, fromStart / 0.4f));
+                if (fromStart < 1.8f) //rolling onto second block
+                    return Interpolation.pow2In.apply(ROLL_Y_1, ROLL_Y_2, Math.min(1, (fromStart - 1.0f) / 0.2f));
+                //falling from second block to middle, and on past it
+                return Interpolation.pow2In.apply(ROLL_Y_2, ROLL_Y_3, (fromStart - 1.8f) / 0.2f);
+            case BOUNCE:
+                if (fromStart < 0.2f) //falling from above onto first block
+                    return Interpolation.linear.apply(BOUNCE_START_Y, BOUNCE_Y_1, fromStart / 0.2f);
+                if (fromStart < 0.6f) //bouncing onto second block
+                    return bounceInterpolation(BOUNCE_Y_1, BOUNCE_PEAK_Y_2, BOUNCE_Y_2, (fromStart - 0.2f) / 0.4f);
+                //bouncing from second block to middle
+                return bounceInterpolation(BOUNCE_Y_2, BOUNCE_PEAK_Y_3, BOUNCE_Y_3, (fromStart - 0.6f) / 0.4f);
+            default:
+                if (fromStart < 0.4f) //bouncing from left onto first block
+                    return bounceInterpolation(SPEED_START_Y, SPEED_PEAK_Y_1, SPEED_Y_1, fromStart / 0.4f);
+                //bouncing from first block to middle
+                return bounceInterpolation(SPEED_Y_1, SPEED_PEAK_Y_2, SPEED_Y_2, (fromStart - 0.4f) / 0.4f);
+        }
+    }
+
+    private static float bounceInterpolation(float start, float peak, float end, float progress) {
+        if (progress < 0.5f)
+        {
+            return Interpolation.pow2Out.apply(start, peak, progress * 2);
+        }
+        else
+        {
+            return Interpolation.pow2In.apply(peak, end, (progress - 0.5f) * 2);
+        }
+    }
+}
@@ -1,116 +1,162 @@
 package Minigames.games.beatpress;
 
-import Minigames.games.AbstractMinigame;
-import com.badlogic.gdx.math.MathUtils;
-
-import java.util.ArrayList;
-import java.util.PriorityQueue;
+import java.util.Random;
 
+//A compiled pattern: one entry per ball in each array. Patterns are immutable and shared;
+//the random choices made for fixed (_) tokens are passed in by whoever is generating balls.
 public class BeatPattern {
-    private ArrayList<BallInfo> ballInfos = new ArrayList<>();
+    // key:
+
+    // Side: L R ? _ ! =    ?random _fixed random !opposite of last =same as last
+    // Type: R B S ? _ =     ?random _fixed random
+    // Duration (time until next ball, float)
 
-    public BeatPattern(String pattern) {
-        // key:
+    static final byte LEFT = 0, RIGHT = 1, RANDOM = 2, FIXED = 3, OPPOSITE = 4, REPEAT = 5;
+    static final byte ROLL = 6, BOUNCE = 7, SPEED = 8;
 
-        // Side: L R ? _ ! =    ?random _fixed random !opposite of last =same as last
-        // Type: R B S ? _ =     ?random _fixed random
-        // Duration (time until next ball, float)
+    //The press needs this long to come back up before it can be pressed again. Balls closer together than this
+    //can't both be hit, and their hit windows would overlap.
+    static final float MIN_GAP = Math.max(Press.PRESS_TIME + Press.RECOVERY_TIME, BeatPress.NOT_QUITE_WINDOW * 2);
 
-        String[] tokens = pattern.split(" ");
+    private final byte[] sides;
+    private final byte[] types;
+    private final float[] durations;
 
-        for (String s :tokens)
-            ballInfos.add(new BallInfo(s));
+    private BeatPattern(byte[] sides, byte[] types, float[] durations) {
+        this.sides = sides;
+        this.types = types;
+        this.durations = durations;
     }
 
-    public float addBalls(AbstractMinigame parent, float time, PriorityQueue<Ball> balls, ArrayList<Ball> allBalls) {
-        //reset();
+    /**
+     * Compiles a pattern like "?B1.6 =R0.8 !B0.8".
+     *
+     * @throws IllegalArgumentException if a token is malformed or two balls are too close together to both be hit
+     */
+    public static BeatPattern compile(String pattern) throws IllegalArgumentException {
+        String[] tokens = pattern.trim().split("\\s+");
+        if (tokens.length == 0 || tokens[0].isEmpty())
+            throw new IllegalArgumentException("Empty pattern");
+
+        byte[] sides = new byte[tokens.length];
+        byte[] types = new byte[tokens.length];
+        float[] durations = new float[tokens.length];
+
+        for (int i = 0; i < tokens.length; ++i) {
+            String token = tokens[i];
+            if (token.length() < 3)
+                throw new IllegalArgumentException("Token \"" + token + "\" needs a side, a type and a duration");
+
+            sides[i] = side(token);
+            types[i] = type(token);
+
+            try {
+                durations[i] = Float.parseFloat(token.substring(2));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Token \"" + token + "\" has an invalid duration");
+            }
+            //the last duration is the gap to the first ball of the next pattern, so it's checked too
+            if (!(durations[i] >= MIN_GAP) || Float.isInfinite(durations[i]))
+                throw new IllegalArgumentException("Token \"" + token + "\" is followed by another ball after " + durations[i] + "s, which can't be hit in time (needs at least " + MIN_GAP + "s)");
+        }
 
-        boolean lastRight = true;
-        Ball.BallType lastType = Ball.BallType.ROLL;
+        return new BeatPattern(sides, types, durations);
+    }
 
-        if (!allBalls.isEmpty())
-        {
-            lastRight = allBalls.get(allBalls.size() - 1).right;
-            lastType = allBalls.get(allBalls.size() - 1).type;
+    private static byte side(String token) {
+        switch (token.charAt(0)) {
+            case 'L':
+                return LEFT;
+            case 'R':
+                return RIGHT;
+            case '?':
+                return RANDOM;
+            case '_':
+                return FIXED;
+            case '!':
+                return OPPOSITE;
+            case '=':
+                return REPEAT;
+            default:
+                throw new IllegalArgumentException("Token \"" + token + "\" has an unknown side '" + token.charAt(0) + "'");
         }
+    }
 
-        for (BallInfo info : ballInfos)
-        {
-            Ball b = generateBall(parent, time, info, lastRight, lastType);
+    private static byte type(String token) {
+        switch (token.charAt(1)) {
+            case 'R':
+                return ROLL;
+            case 'B':
+                return BOUNCE;
+            case 'S':
+                return SPEED;
+            case '?':
+                return RANDOM;
+            case '_':
+                return FIXED;
+            case '=':
+                return REPEAT;
+            default:
+                throw new IllegalArgumentException("Token \"" + token + "\" has an unknown type '" + token.charAt(1) + "'");
+        }
+    }
+
+    public int size() {
+        return durations.length;
+    }
+
+    public float addBalls(BeatSchedule.Builder schedule, float time, boolean fixedSide, Ball.BallType fixedBall, Random rng) {
+        boolean lastRight = schedule.lastRight;
+        Ball.BallType lastType = schedule.lastType;
 
-            balls.add(b);
-            allBalls.add(b);
+        for (int i = 0; i < durations.length; ++i)
+        {
+            schedule.add(getType(i, lastType, fixedBall, rng), getSide(i, lastRight, fixedSide, rng), time);
 
-            time += info.duration;
+            time += durations[i];
         }
 
         return time;
     }
 
-    public void reset() {
-        fixedSide = null;
-        fixedBall = null;
-    }
-
-    private Ball generateBall(AbstractMinigame parent, float time, BallInfo info, boolean right, Ball.BallType type) {
-        switch (info.sideType)
+    private boolean getSide(int i, boolean right, boolean fixedSide, Random rng) {
+        switch (sides[i])
         {
             case RIGHT:
-                right = true;
-                break;
+                return true;
             case LEFT:
-                right = false;
-                break;
+                return false;
             case FIXED:
-                right = getFixedSide();
-                break;
+                return fixedSide;
             case RANDOM:
-                right = MathUtils.randomBoolean();
-                break;
+                return rng.nextBoolean();
             case OPPOSITE:
-                right = !right;
-                break;
+                return !right;
+            default:
+                return right;
         }
+    }
 
-        switch (info.genType)
+    private Ball.BallType getType(int i, Ball.BallType type, Ball.BallType fixedBall, Random rng) {
+        switch (types[i])
         {
             case ROLL:
-                type = Ball.BallType.ROLL;
-                break;
+                return Ball.BallType.ROLL;
             case BOUNCE:
-                type = Ball.BallType.BOUNCE;
-                break;
+                return Ball.BallType.BOUNCE;
             case SPEED:
-                type = Ball.BallType.SPEED;
-                break;
+                return Ball.BallType.SPEED;
             case RANDOM:
-                type = getRandomBall();
-                break;
+                return getRandomBall(rng);
             case FIXED:
-                type = getFixedBall();
-                break;
+                return fixedBall;
+            default:
+                return type;
         }
-
-        return new Ball(parent, type, time, right);
     }
 
-    private Boolean fixedSide = null;
-    private boolean getFixedSide() {
-        if (fixedSide == null)
-            fixedSide = MathUtils.randomBoolean();
-
-        return fixedSide;
-    }
-
-    private Ball.BallType fixedBall = null;
-    private Ball.BallType getFixedBall() {
-        if (fixedBall == null)
-            fixedBall = getRandomBall();
-
-        return fixedBall;
-    }
-    private Ball.BallType getRandomBall() {
-        float f = MathUtils.random();
+    public static Ball.BallType getRandomBall(Random rng) {
+        float f = rng.nextFloat();
         if (f < 0.35f)
             return Ball.BallType.ROLL;
         else if (f < 0.75f)
@@ -118,74 +164,4 @@ public class BeatPattern {
 
         return Ball.BallType.SPEED;
     }
-
-
-    private static class BallInfo {
-        private enum SideType {
-            LEFT,
-            RIGHT,
-            RANDOM,
-            FIXED,
-            OPPOSITE,
-            REPEAT
-        }
-        private enum BallGenType {
-            ROLL,
-            BOUNCE,
-            SPEED,
-            RANDOM,
-            FIXED,
-            REPEAT
-        }
-
-        protected float duration;
-        protected SideType sideType;
-        protected BallGenType genType;
-
-        public BallInfo(String info) {
-            switch (info.charAt(0)) {
-                case '?':
-                    sideType = SideType.RANDOM;
-                    break;
-                case '_':
-                    sideType = SideType.FIXED;
-                    break;
-                case '!':
-                    sideType = SideType.OPPOSITE;
-                    break;
-                case '=':
-                    sideType = SideType.REPEAT;
-                    break;
-                case 'L':
-                    sideType = SideType.LEFT;
-                    break;
-                default:
-                    sideType = SideType.RIGHT;
-                    break;
-            }
-
-            switch (info.charAt(1)) {
-                case '?':
-                    genType = BallGenType.RANDOM;
-                    break;
-                case '_':
-                    genType = BallGenType.FIXED;
-                    break;
-                case '=':
-                    genType = BallGenType.REPEAT;
-                    break;
-                case 'R':
-                    genType = BallGenType.ROLL;
-                    break;
-                case 'B':
-                    genType = BallGenType.BOUNCE;
-                    break;
-                default:
-                    genType = BallGenType.SPEED;
-                    break;
-            }
-
-            duration = Float.parseFloat(info.substring(2));
-        }
-    }
 }
@@ -0,0 +1,103 @@
+package Minigames.games.beatpress;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+
+import static Minigames.Minigames.makeDataPath;
+
+// The Beat Press patterns, read from a text file so new ones don't need code changes.
+// Each line is "<tier>: <pattern>", where tier is basic, medium or heck; # starts a comment.
+// The file is compiled the first time a Beat Press schedule is generated, not when the event creates the game.
+
+public class BeatPatternLibrary {
+    public static final Logger logger = LogManager.getLogger(BeatPatternLibrary.class.getName());
+    public static final String PATTERNS_PATH = makeDataPath("beatpress/patterns.txt");
+
+    private static BeatPatternLibrary library;
+
+    public final BeatPattern[] basic;
+    public final BeatPattern[] medium;
+    public final BeatPattern[] heck;
+
+    private BeatPatternLibrary(BeatPattern[] basic, BeatPattern[] medium, BeatPattern[] heck) {
+        this.basic = basic;
+        this.medium = medium;
+        this.heck = heck;
+    }
+
+    //synchronized, since the schedule is generated on another thread
+    public static synchronized BeatPatternLibrary get() {
+        if (library == null)
+            library = load(Gdx.files.internal(PATTERNS_PATH));
+        return library;
+    }
+
+    /**
+     * Compiles every pattern in a file. Invalid lines are logged and skipped; a tier with no valid patterns uses the basic ones.
+     *
+     * @throws GdxRuntimeException if the file can't be read or has no valid basic patterns
+     */
+    public static BeatPatternLibrary load(FileHandle file) throws GdxRuntimeException {
+        ArrayList<BeatPattern> basic = new ArrayList<>();
+        ArrayList<BeatPattern> medium = new ArrayList<>();
+        ArrayList<BeatPattern> heck = new ArrayList<>();
+
+        String[] lines = file.readString("UTF-8").split("\\r?\\n");
+        for (int i = 0; i < lines.length; ++i) {
+            String line = lines[i];
+            int comment = line.indexOf('#');
+            if (comment >= 0)
+                line = line.substring(0, comment);
+            line = line.trim();
+            if (line.isEmpty())
+                continue;
+
+            int colon = line.indexOf(':');
+            if (colon < 0) {
+                logger.error(file.path() + ":" + (i + 1) + ": missing tier");
+                continue;
+            }
+
+            ArrayList<BeatPattern> tier;
+            switch (line.substring(0, colon).trim()) {
+                case "basic":
+                    tier = basic;
+                    break;
+                case "medium":
+                    tier = medium;
+                    break;
+                case "heck":
+                    tier = heck;
+                    break;
+                default:
+                    logger.error(file.path() + ":" + (i + 1) + ": unknown tier \"" + line.substring(0, colon).trim() + "\"");
+                    continue;
+            }
+
+            try {
+                tier.add(BeatPattern.compile(line.substring(colon + 1)));
+            } catch (IllegalArgumentException e) {
+                logger.error(file.path() + ":" + (i + 1) + ": " + e.getMessage());
+            }
+        }
+
+        if (basic.isEmpty())
+            throw new GdxRuntimeException("No valid basic Beat Press patterns in " + file.path());
+        if (medium.isEmpty()) {
+            logger.warn("No valid medium Beat Press patterns, using basic ones");
+            medium = basic;
+        }
+        if (heck.isEmpty()) {
+            logger.warn("No valid heck Beat Press patterns, using medium ones");
+            heck = medium;
+        }
+
+        logger.info("Compiled " + (basic.size() + medium.size() + heck.size()) + " Beat Press patterns");
+        return new BeatPatternLibrary(basic.toArray(new BeatPattern[0]), medium.toArray(new BeatPattern[0]), heck.toArray(new BeatPattern[0]));
+    }
+}
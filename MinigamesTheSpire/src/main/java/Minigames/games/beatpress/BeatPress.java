@@ -14,22 +14,36 @@ package Minigames.games.beatpress;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.mastermind.MastermindMinigame;
-import Minigames.util.QueuedSound;
-import com.badlogic.gdx.graphics.Texture;
+import Minigames.util.AssetPreloader;
+import Minigames.util.Headless;
+import Minigames.util.HelperClass;
+import Minigames.util.SoundHandle;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Pool;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.events.GenericEventDialog;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
+import com.megacrit.cardcrawl.helpers.FontHelper;
+import com.megacrit.cardcrawl.localization.EventStrings;
+import com.megacrit.cardcrawl.localization.UIStrings;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 
-import static Minigames.Minigames.makeGamePath;
-import static Minigames.Minigames.makeID;
+import static Minigames.Minigames.*;
 
 public class BeatPress extends AbstractMinigame {
     public static final String sfxC = makeID("sfxC"); //rollers go C -> D -> E
@@ -47,37 +61,37 @@ public class BeatPress extends AbstractMinigame {
     public static final String sfxPress = makeID("sfxPress");
     public static final String sfxPressReady = makeID("sfxPressReady");
 
-    private static final ArrayList<BeatPattern> basicPatterns = new ArrayList<>();
-    private static final ArrayList<BeatPattern> mediumPatterns = new ArrayList<>();
-    private static final ArrayList<BeatPattern> heckPatterns = new ArrayList<>();
-
-    static {
-        basicPatterns.add(new BeatPattern("?R1.6 !=1.6"));
-        basicPatterns.add(new BeatPattern("?B1.6 =R0.8 !B0.8"));
-        basicPatterns.add(new BeatPattern("??2.4 =R0.8"));
-        basicPatterns.add(new BeatPattern("=_0.8 =_0.8 =?1.6"));
-        basicPatterns.add(new BeatPattern("!?0.8 ==0.8 ??0.8 ==0.8"));
-
-        //mediumPatterns.add(new BeatPattern("!?1.066667 !?1.066667 !?1.066667"));
-        mediumPatterns.add(new BeatPattern("?B1.2 !B1.2 !B0.8"));
-        mediumPatterns.add(new BeatPattern("??1.6 ?_0.4 =_0.4 =_0.8"));
-
-        heckPatterns.add(new BeatPattern("??0.4 !S0.8 !=0.8 !=0.8 !S0.4"));
-        heckPatterns.add(new BeatPattern("=B0.4 !S0.8 =B0.4 !S0.8 =B0.4 =B0.4"));
-    }
-
-    private Texture title;
-    private Texture input;
-    private Texture sides;
-
-    private Texture grade;
-    private Texture perfect;
-    private Texture notbad;
-    private Texture ouch;
+    //the notes that are scheduled ahead of time
+    static final SoundHandle noteC = SoundHandle.of(sfxC);
+    static final SoundHandle noteD = SoundHandle.of(sfxD);
+    static final SoundHandle noteE = SoundHandle.of(sfxE);
+    static final SoundHandle noteWrong = SoundHandle.of(sfxWrong);
+    static final SoundHandle noteHighC = SoundHandle.of(sfxHighC);
+    static final SoundHandle noteHighE = SoundHandle.of(sfxHighE);
+    static final SoundHandle noteHighF = SoundHandle.of(sfxHighF);
+    static final SoundHandle noteHighG = SoundHandle.of(sfxHighG);
+    static final SoundHandle noteHigherHighC = SoundHandle.of(sfxHigherHighC);
+    static final SoundHandle noteHighWrong = SoundHandle.of(sfxHighWrong);
+
+    //how far from a ball's hit time a press still counts
+    static final float NICE_WINDOW = 0.04f;
+    static final float NOT_QUITE_WINDOW = 0.08f;
+
+    public static final String ATLAS_PATH = makeGamePath("beatpress/beatpress.atlas");
+    public static TextureAtlas atlas;
+
+    private TextureRegion title;
+    private TextureRegion input;
+    private TextureRegion sides;
+
+    private TextureRegion grade;
+    private TextureRegion perfect;
+    private TextureRegion notbad;
+    private TextureRegion ouch;
 
     //excellent naming
-    private Texture thingies;
-    private Texture stringies;
+    private TextureRegion thingies;
+    private TextureRegion stringies;
 
     private static final int THINGY_WIDTH = 90;
     private static final int THINGY_HEIGHT = 200;
@@ -95,13 +109,58 @@ public class BeatPress extends AbstractMinigame {
     //First sound of first ball should occur at exactly 0.0f
     //0.4f gap between bounces of bouncy balls
     //0.8f gap between falls of rolling balls
-    private PriorityQueue<Ball> balls = new PriorityQueue<>();
-    private ArrayList<Ball> activeBalls = new ArrayList<>();
-
-    private ArrayList<Ball> allBalls = new ArrayList<>(); //for tallying score after
+    //The schedule is generated on another thread while the title is up, and balls are only made once they start moving.
+    //Endless games generate the next schedule as soon as the last one is in use, so there's always one ready, and take it
+    //once the last one is about to run out.
+    private CompletableFuture<BeatSchedule> pendingSchedule;
+    private Supplier<BeatSchedule> pendingBuilder; //what pendingSchedule runs, to build it here if that failed
+    private final ArrayDeque<Spawner> spawners = new ArrayDeque<>(); //schedules with balls that haven't started
+    private BeatSchedule lastSchedule;
+    private int schedulesUsed;
+
+    private boolean endless; //chosen on the instruction screen
+    private static final float SCHEDULE_LOOKAHEAD = Ball.getDuration(Ball.BallType.ROLL) + 0.5f; //the longest a ball moves before its hit, and a margin
+    private static final int ENDLESS_LENGTH = 2; //"patterns" per schedule
+    private static final int ENDLESS_PATTERN_COUNT = 2;
+    private static final int ENDLESS_LIVES = 3;
+    private int lives = ENDLESS_LIVES;
+
+    //Scores are tallied as balls are hit or missed, nothing is kept per ball
+    private int judged;
+    private float totalScore;
+    private boolean allNice = true;
 
-    private PressResult currentResult = PressResult.MISS; //the result if the press is pressed after a specific frame of update
-    private Ball hitBall = null;
+    private ArrayList<Ball> activeBalls = new ArrayList<>();
+    private final Pool<Ball> ballPool = new Pool<Ball>() {
+        @Override
+        protected Ball newObject() {
+            return new Ball(BeatPress.this);
+        }
+    };
+
+    private final HitTimeline timeline = new HitTimeline();
+
+    private BindingGroup inputs;
+    private long timeNanos; //System.nanoTime() at the end of the last update, when time had its current value
+    private static final float MAX_INPUT_DELAY = 0.1f; //presses are never judged as happening more than this after the last update
+    private float latency; //how late this player presses, set by calibrating
+
+    //Calibration: a beat plays every CALIBRATION_INTERVAL and the player presses along. How late they press on average is their latency.
+    private static final int CALIBRATION_PHASE = 6;
+    private static final float CALIBRATION_INTERVAL = 0.5f;
+    private static final int CALIBRATION_BEATS = 16;
+    private static final int CALIBRATION_MIN_PRESSES = 8;
+    private final float[] calibrationOffsets = new float[CALIBRATION_BEATS];
+    private int calibrationPresses;
+    private int phaseBeforeCalibration; //resumed afterwards, without playing the intro again
+    private float timeBeforeCalibration;
+
+    private final EventStrings eventStrings = CardCrawlGame.languagePack.getEventString(makeID("BeatPress"));
+    private final UIStrings uiStrings = CardCrawlGame.languagePack.getUIString(makeID("BeatPress"));
+    private final Map<String, String> dict = uiStrings.TEXT_DICT;
+    //formatted when their values change, not every frame
+    private String calibrateText;
+    private String calibrationPressesText;
 
     protected enum PressResult {
         MISS,
@@ -121,47 +180,74 @@ public class BeatPress extends AbstractMinigame {
 
     public BeatPress() {
         super();
-
-        hasInstructionScreen = false;
     }
 
     @Override
     public String getOption() {
-        return "I'll add localization later.";
+        return eventStrings.OPTIONS[2];
+    }
+
+    @Override
+    public void setupInstructionScreen(GenericEventDialog event) {
+        event.updateBodyText(eventStrings.DESCRIPTIONS[0]);
+        event.setDialogOption(eventStrings.OPTIONS[0]);
+        event.setDialogOption(eventStrings.OPTIONS[1]);
+    }
+
+    //An endless game keeps going until ENDLESS_LIVES balls have been missed, getting harder as it goes.
+    @Override
+    public boolean instructionsButtonPressed(int buttonIndex) {
+        endless = buttonIndex == 1;
+        return true;
     }
 
     @Override
     public void setupPostgameScreen(GenericEventDialog event) {
-        event.updateBodyText("How'd you do?");
-        event.setDialogOption("There will probably be rewards.");
+        event.updateBodyText(endless ? String.format(eventStrings.DESCRIPTIONS[2], judged) : eventStrings.DESCRIPTIONS[1]);
+        event.setDialogOption(eventStrings.OPTIONS[3]);
+    }
+
+    @Override
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        super.declareAssets(assets);
+        assets.add(new AssetDescriptor<>(ATLAS_PATH, TextureAtlas.class));
     }
 
     @Override
     public void initialize() {
         super.initialize();
 
-        Ball.initialize();
+        atlas = AssetPreloader.retain(ATLAS_PATH, TextureAtlas.class, null);
+        Ball.initialize(atlas);
         //6 "patterns". One "pattern" is 2 random beatpatterns = 12 total beatpatterns.
-        generateBalls(6, 0.3f, 0.05f, 4);
+        //The seed comes from MathUtils.random here, since that isn't safe to use from the generating thread.
+        long seed = MathUtils.random.nextLong();
+        if (endless)
+            buildScheduleAsync(() -> BeatSchedule.generate(ENDLESS_LENGTH, getMediumRate(0), getHeckRate(0), ENDLESS_PATTERN_COUNT, seed));
+        else
+            buildScheduleAsync(() -> BeatSchedule.generate(6, 0.3f, 0.05f, 4, seed));
 
-        title = ImageMaster.loadImage(makeGamePath("beatpress/title.png"));
-        input = ImageMaster.loadImage(makeGamePath("beatpress/input.png"));
-        sides = ImageMaster.loadImage(makeGamePath("beatpress/sides.png"));
+        title = atlas.findRegion("title");
+        input = atlas.findRegion("input");
+        sides = atlas.findRegion("sides");
 
-        grade = ImageMaster.loadImage(makeGamePath("beatpress/grade.png"));
-        perfect = ImageMaster.loadImage(makeGamePath("beatpress/perfect.png"));
-        notbad = ImageMaster.loadImage(makeGamePath("beatpress/notbad.png"));
-        ouch = ImageMaster.loadImage(makeGamePath("beatpress/ouch.png"));
+        grade = atlas.findRegion("grade");
+        perfect = atlas.findRegion("perfect");
+        notbad = atlas.findRegion("notbad");
+        ouch = atlas.findRegion("ouch");
 
-        thingies = ImageMaster.loadImage(makeGamePath("beatpress/thingy.png"));
-        stringies = ImageMaster.loadImage(makeGamePath("beatpress/string.png"));
+        thingies = atlas.findRegion("thingy");
+        stringies = atlas.findRegion("string");
 
         highThingyY = HIGH_THINGY_START_Y;
         lowThingyY = LOW_THINGY_START_Y;
 
         press = new Press(this);
+        latency = getBeatPressLatency() / 1000f;
+        calibrateText = String.format(dict.get("CALIBRATE"), Math.round(latency * 1000));
 
-        CardCrawlGame.music.silenceBGM();
+        if (!Headless.enabled)
+            CardCrawlGame.music.silenceBGM();
     }
 
     @Override
@@ -171,7 +257,7 @@ public class BeatPress extends AbstractMinigame {
         {
             case 0:
                 if (time == 0)
-                    CardCrawlGame.sound.play(sfxOof, 0.1f);
+                    HelperClass.playSound(sfxOof, 0.1f);
 
             case 1:
                 press.update(elapsed);
@@ -184,6 +270,8 @@ public class BeatPress extends AbstractMinigame {
                 {
                     phase = 2;
                     time = -1.5f;
+                    if (lastSchedule == null)
+                        useSchedule(takeSchedule()); //long done by now, the title is up for at least a second
 
                     /*queuedSounds.add(new QueuedSound(sfxHighE, -1.2f));
                     queuedSounds.add(new QueuedSound(sfxHighD, -0.8f));
@@ -194,15 +282,26 @@ public class BeatPress extends AbstractMinigame {
                 //time for balls
                 press.update(elapsed);
 
-                currentResult = PressResult.MISS;
-                hitBall = null;
+                //the next endless schedule is used just before its first ball could have to start moving
+                if (pendingSchedule != null && lastSchedule != null && time >= lastSchedule.endTime - SCHEDULE_LOOKAHEAD)
+                    useSchedule(takeSchedule());
 
-                Ball b = balls.peek();
-                while (b != null && time >= b.startTime)
+                Ball b;
+                Iterator<Spawner> spawnerIterator = spawners.iterator();
+                while (spawnerIterator.hasNext())
                 {
-                    b.queueSounds();
-                    activeBalls.add(balls.remove());
-                    b = balls.peek();
+                    Spawner spawner = spawnerIterator.next();
+                    BeatSchedule schedule = spawner.schedule;
+                    while (spawner.next < schedule.size() && time >= schedule.getStartTime(schedule.getStarting(spawner.next)))
+                    {
+                        int i = schedule.getStarting(spawner.next++);
+                        b = ballPool.obtain();
+                        b.init(schedule.getType(i), schedule.hitTimes[i], schedule.isRight(i), schedule.base + i);
+                        b.queueSounds();
+                        activeBalls.add(b);
+                    }
+                    if (spawner.next >= schedule.size())
+                        spawnerIterator.remove();
                 }
 
                 Iterator<Ball> ballIterator = activeBalls.iterator();
@@ -212,33 +311,17 @@ public class BeatPress extends AbstractMinigame {
 
                     b.update(time, elapsed); //and balls use time
 
-                    if (currentResult == PressResult.MISS)
-                    {
-                        float gap = b.hitTime - time;
-
-                        if (gap < 0.04f && (gap > -0.04f || !b.triggered)) //ensure there is always at least one frame where you can get a perfect
-                        {
-                            currentResult = PressResult.NICE;
-                            b.triggered = true;
-                            hitBall = b;
-                        }
-                        else if (gap < 0.08f && gap > -0.08f)
-                        {
-                            currentResult = PressResult.NOT_QUITE;
-                            hitBall = b;
-                        }
-                    }
-
                     if (b.done)
                     {
                         ballIterator.remove();
-
+                        ballPool.free(b);
                     }
                 }
 
                 time += elapsed;
+                tallyMisses(timeline.advance(time));
 
-                if (activeBalls.isEmpty() && balls.isEmpty())
+                if (activeBalls.isEmpty() && spawners.isEmpty() && pendingSchedule == null)
                 {
                     time = 0;
                     phase = 3;
@@ -252,7 +335,7 @@ public class BeatPress extends AbstractMinigame {
                 if (time > 2.0f) {
                     time = 0;
                     phase = 4;
-                    CardCrawlGame.sound.play(sfxPressReady);
+                    HelperClass.playSound(sfxPressReady);
                 }
                 break;
             case 4:
@@ -267,7 +350,13 @@ public class BeatPress extends AbstractMinigame {
             case 5:
                 time += elapsed;
                 break;
+            case CALIBRATION_PHASE:
+                time += elapsed;
+                if (time > CALIBRATION_BEATS * CALIBRATION_INTERVAL)
+                    finishCalibration();
+                break;
         }
+        timeNanos = System.nanoTime();
     }
 
     @Override
@@ -275,20 +364,25 @@ public class BeatPress extends AbstractMinigame {
         super.render(sb);
 
         if (phase < 4)
-            drawTexture(sb, sides, 0, 0, SIZE);
+            drawRegion(sb, sides, 0, 0, SIZE);
 
         switch (phase)
         {
             case 0:
-                drawTexture(sb, title, 0, 0, SIZE);
+                drawRegion(sb, title, 0, 0, SIZE);
                 if (time > 1) {
                     if (time % 1 < 0.5f) {
-                        drawTexture(sb, input, 0, 0, SIZE);
+                        drawRegion(sb, input, 0, 0, SIZE);
                     }
                     if (time > 60) {
                         time -= 30; //I mean, nobody's gonna sit here til it overflows.... right..?
                     }
                 }
+                FontHelper.renderFontCentered(sb, FontHelper.smallDialogOptionFont, calibrateText, x, y - SIZE * scale * 0.4f, Color.GOLD);
+                break;
+            case CALIBRATION_PHASE:
+                FontHelper.renderFontCentered(sb, FontHelper.smallDialogOptionFont, dict.get("CALIBRATING"), x, y, Color.GOLD);
+                FontHelper.renderFontCentered(sb, FontHelper.smallDialogOptionFont, calibrationPressesText, x, y - 48f * Settings.scale, Color.GOLD);
                 break;
             case 2:
                 //b alls
@@ -306,17 +400,17 @@ public class BeatPress extends AbstractMinigame {
                 switch (finalRating)
                 {
                     case PERFECT:
-                        drawTexture(sb, perfect, 0, 0, SIZE);
+                        drawRegion(sb, perfect, 0, 0, SIZE);
                         break;
                     case NOT_BAD:
-                        drawTexture(sb, notbad, 0, 0, SIZE);
+                        drawRegion(sb, notbad, 0, 0, SIZE);
                         break;
                     case OUCH:
-                        drawTexture(sb, ouch, 0, 0, SIZE);
+                        drawRegion(sb, ouch, 0, 0, SIZE);
                         break;
                 }
             case 4:
-                drawTexture(sb, grade, 0, 0, SIZE);
+                drawRegion(sb, grade, 0, 0, SIZE);
                 //first display "Your Grade:"
                 //after a pause, display the rank + appropriate sfx
                 //Pressing any button after this ends the game
@@ -326,10 +420,10 @@ public class BeatPress extends AbstractMinigame {
     private void drawThingy(SpriteBatch sb, int x, int y) {
         if (y < 320)
         {
-            drawTexture(sb, thingies, x, y, THINGY_WIDTH, Math.min(THINGY_HEIGHT, 320 - y), 0, THINGY_WIDTH, THINGY_HEIGHT, false, false);
+            drawRegion(sb, thingies, x, y, THINGY_WIDTH, Math.min(THINGY_HEIGHT, 320 - y), 0, THINGY_WIDTH, THINGY_HEIGHT, false, false);
             if (y < 120)
             {
-                drawTexture(sb, stringies, x, y + THINGY_HEIGHT, THINGY_WIDTH, 120 - y, 0, THINGY_WIDTH, 1, false, false);
+                drawRegion(sb, stringies, x, y + THINGY_HEIGHT, THINGY_WIDTH, 120 - y, 0, THINGY_WIDTH, 1, false, false);
             }
         }
     }
@@ -339,7 +433,7 @@ public class BeatPress extends AbstractMinigame {
         {
             case -1:
             case 0:
-                CardCrawlGame.sound.play(sfxE);
+                HelperClass.playSound(sfxE);
                 //queuedSounds.add(new QueuedSound(sfxHighE, 0.2f));
                 press.show(Settings.FAST_MODE ? 0.8f : 1.6f);
                 phase = 1;
@@ -354,115 +448,175 @@ public class BeatPress extends AbstractMinigame {
 
                     //Test if this is a valid hit
                     //Possiblities are: Spot On, A Bit Off, and Whiff
-                    if (hitBall != null)
+                    //Judged at the time of the press against the closest ball, so it doesn't depend on the frame rate
+                    float pressTime = getPressTime() - latency;
+                    int hit = timeline.find(pressTime);
+                    if (hit >= 0)
                     {
-                        hitBall.setResult(currentResult);
+                        timeline.markHit(hit);
+                        PressResult result = judge(timeline.getTime(hit) - pressTime);
+                        tally(result);
+                        for (Ball b : activeBalls)
+                        {
+                            if (b.index == hit)
+                            {
+                                b.setResult(result);
+                                break;
+                            }
+                        }
                     }
                 }
                 break;
             case 5:
                 isDone = true;
                 break;
+            case CALIBRATION_PHASE:
+                float pressTime = getPressTime();
+                int beat = Math.round(pressTime / CALIBRATION_INTERVAL);
+                if (beat >= 0 && beat < CALIBRATION_BEATS && calibrationPresses < CALIBRATION_BEATS) {
+                    calibrationOffsets[calibrationPresses++] = pressTime - beat * CALIBRATION_INTERVAL;
+                    updateCalibrationPressesText();
+                }
+                break;
         }
     }
 
-    private void generateBalls(int length, float mediumRate, float heckRate, int patternCount) {
-        float time = 0; //For the first ball, this should be when it first makes a sound.
-        int completePatterns = 0;
+    //Game time the input being handled happened at. Input arrives between updates, so that's time plus however long
+    //it has been since the last update, rather than whatever time the last update left.
+    private float getPressTime() {
+        long eventTime = inputs.getEventTime();
+        if (eventTime == 0)
+            return time;
+        return time + MathUtils.clamp((eventTime - timeNanos) / 1_000_000_000f, 0, MAX_INPUT_DELAY);
+    }
 
-        mediumRate += heckRate;
+    private void startCalibration() {
+        phaseBeforeCalibration = phase;
+        timeBeforeCalibration = time;
+        phase = CALIBRATION_PHASE;
+        time = -1f; //a second before the first beat
+        calibrationPresses = 0;
+        updateCalibrationPressesText();
+        for (int i = 0; i < CALIBRATION_BEATS; ++i)
+            queuedSounds.queue(i % 4 == 0 ? noteHighC : noteC, i * CALIBRATION_INTERVAL);
+    }
 
-        float type;
+    //The median, so a few stray presses don't throw it off
+    private void finishCalibration() {
+        if (calibrationPresses >= CALIBRATION_MIN_PRESSES) {
+            Arrays.sort(calibrationOffsets, 0, calibrationPresses);
+            latency = calibrationOffsets[calibrationPresses / 2];
+            setBeatPressLatency(Math.round(latency * 1000));
+            calibrateText = String.format(dict.get("CALIBRATE"), Math.round(latency * 1000));
+            logger.info("Beat Press latency calibrated to " + Math.round(latency * 1000) + "ms");
+        }
+        phase = phaseBeforeCalibration;
+        time = timeBeforeCalibration;
+    }
 
-        BeatPattern[] patterns = new BeatPattern[patternCount * 2];
-        int patternIndex = 0;
-        boolean patternsDecided = false;
+    private void updateCalibrationPressesText() {
+        calibrationPressesText = String.format(dict.get("CALIBRATION_PRESSES"), calibrationPresses, CALIBRATION_BEATS);
+    }
 
-        while (completePatterns < length)
-        {
-            if (!patternsDecided)
-            {
-                type = MathUtils.random();
+    //package-private for the update benchmark, which uses a schedule with a lot more balls
+    void useSchedule(BeatSchedule schedule) {
+        lastSchedule = schedule;
+        ++schedulesUsed;
+        spawners.add(new Spawner(schedule));
+        timeline.append(schedule);
+
+        if (endless) {
+            long seed = MathUtils.random.nextLong();
+            float mediumRate = getMediumRate(schedulesUsed), heckRate = getHeckRate(schedulesUsed);
+            buildScheduleAsync(() -> schedule.generateNext(ENDLESS_LENGTH, mediumRate, heckRate, ENDLESS_PATTERN_COUNT, seed));
+        } else {
+            pendingSchedule = null;
+        }
+    }
 
-                if (type < heckRate)
-                {
-                    patterns[patternIndex] = heckPatterns.get(MathUtils.random(heckPatterns.size() - 1));
-                }
-                else if (type < mediumRate)
-                {
-                    patterns[patternIndex] = mediumPatterns.get(MathUtils.random(mediumPatterns.size() - 1));
-                }
-                else
-                {
-                    patterns[patternIndex] = basicPatterns.get(MathUtils.random(basicPatterns.size() - 1));
-                }
-                patterns[patternIndex].reset();
-            }
+    private void buildScheduleAsync(Supplier<BeatSchedule> builder) {
+        pendingBuilder = builder;
+        pendingSchedule = CompletableFuture.supplyAsync(builder);
+    }
 
-            time = patterns[patternIndex].addBalls(this, time, balls, allBalls);
+    //The pending schedule, built again on this thread if building it on the other one failed
+    private BeatSchedule takeSchedule() {
+        try {
+            return pendingSchedule.join();
+        } catch (CompletionException | CancellationException e) {
+            logger.error("Beat Press schedule failed to build, retrying on the render thread", e);
+            return pendingBuilder.get();
+        }
+    }
 
-            ++patternIndex;
-            if (patternIndex >= patterns.length)
-                patternsDecided = true;
+    //Endless games get harder with every schedule, up to a limit
+    private static float getMediumRate(int schedules) {
+        return Math.min(0.3f + schedules * 0.05f, 0.6f);
+    }
 
-            if (patternIndex % 2 == 0)
-            {
-                ++completePatterns;
+    private static float getHeckRate(int schedules) {
+        return Math.min(0.05f + schedules * 0.025f, 0.3f);
+    }
 
-                if (patternsDecided)
-                    patternIndex = MathUtils.random(patternCount - 1) * 2;
-            }
-        }
+    //A schedule and how many of its balls have started moving
+    private static class Spawner {
+        final BeatSchedule schedule;
+        int next = 0;
 
-        //After that, targetTime is adjusted based on when that ball will land, and used exclusively as the "hit" time of the next ball.
-        //Ball firstBall = new Ball(this, Ball.BallType.ROLL, targetTime + Ball.getDuration(Ball.BallType.ROLL), false);
-        //balls.add(firstBall);
+        Spawner(BeatSchedule schedule) {
+            this.schedule = schedule;
+        }
+    }
 
-        /*targetTime = firstBall.hitTime;
+    private void tally(PressResult result) {
+        ++judged;
+        switch (result)
+        {
+            case NICE:
+                totalScore += 1;
+                break;
+            case NOT_QUITE:
+                totalScore += 0.5f;
+            case MISS:
+                allNice = false;
+        }
+    }
 
-        for (int i = 0; i < 100; ++i) {
-            targetTime += 0.8f;
-            if (i % 2 == 0)
-            {
-                if (i % 4 == 0)
-                {
-                    balls.add(new Ball(this, Ball.BallType.BOUNCE, targetTime, true));
-                }
-                else
-                {
-                    balls.add(new Ball(this, Ball.BallType.SPEED, targetTime, false));
+    private void tallyMisses(int missed) {
+        if (missed == 0)
+            return;
+
+        judged += missed;
+        allNice = false;
+
+        if (endless) {
+            lives -= missed;
+            if (lives <= 0 && pendingSchedule != null) {
+                //out of lives, the balls already moving finish and then the game ends
+                pendingSchedule = null;
+                for (Spawner spawner : spawners) {
+                    for (int i = spawner.next; i < spawner.schedule.size(); ++i)
+                        timeline.drop(spawner.schedule.base + spawner.schedule.getStarting(i));
                 }
-            }
-            else
-            {
-                balls.add(new Ball(this, Ball.BallType.ROLL, targetTime, false));
+                spawners.clear();
             }
         }
+    }
 
-        allBalls.addAll(balls);*/
+    static PressResult judge(float gap) {
+        if (gap < NICE_WINDOW && gap > -NICE_WINDOW)
+            return PressResult.NICE;
+        if (gap < NOT_QUITE_WINDOW && gap > -NOT_QUITE_WINDOW)
+            return PressResult.NOT_QUITE;
+        return PressResult.MISS;
     }
 
     private void calculateRating() {
-        float score = 0;
-        boolean perfect = true;
-
-        for (Ball b : allBalls)
-        {
-            switch (b.score)
-            {
-                case NICE:
-                    score += 1;
-                    break;
-                case NOT_QUITE:
-                    score += 0.5f;
-                case MISS:
-                    perfect = false;
-            }
-        }
+        tallyMisses(timeline.advance(Float.POSITIVE_INFINITY)); //any balls still in their window
 
-        score /= allBalls.size();
+        float score = judged == 0 ? 0 : totalScore / judged;
 
-        if (perfect)
+        if (allNice)
         {
             finalRating = Rating.PERFECT;
         }
@@ -481,23 +635,23 @@ public class BeatPress extends AbstractMinigame {
         switch (finalRating)
         {
             case PERFECT:
-                CardCrawlGame.sound.play(sfxC);
-                queuedSounds.add(new QueuedSound(sfxHighC, 0.2f));
-                queuedSounds.add(new QueuedSound(sfxHighE, 0.4f));
-                queuedSounds.add(new QueuedSound(sfxHighG, 0.8f));
-                queuedSounds.add(new QueuedSound(sfxHigherHighC, 1.2f));
+                HelperClass.playSound(sfxC);
+                queuedSounds.queue(noteHighC, 0.2f);
+                queuedSounds.queue(noteHighE, 0.4f);
+                queuedSounds.queue(noteHighG, 0.8f);
+                queuedSounds.queue(noteHigherHighC, 1.2f);
                 break;
             case NOT_BAD:
-                CardCrawlGame.sound.play(sfxC);
-                queuedSounds.add(new QueuedSound(sfxD, 0.2f));
-                queuedSounds.add(new QueuedSound(sfxE, 0.4f));
-                queuedSounds.add(new QueuedSound(sfxD, 0.6f));
-                queuedSounds.add(new QueuedSound(sfxC, 0.8f));
+                HelperClass.playSound(sfxC);
+                queuedSounds.queue(noteD, 0.2f);
+                queuedSounds.queue(noteE, 0.4f);
+                queuedSounds.queue(noteD, 0.6f);
+                queuedSounds.queue(noteC, 0.8f);
                 break;
             case OUCH:
-                CardCrawlGame.sound.play(sfxOof);
-                CardCrawlGame.sound.play(sfxWrong);
-                CardCrawlGame.sound.play(sfxE);
+                HelperClass.playSound(sfxOof);
+                HelperClass.playSound(sfxWrong);
+                HelperClass.playSound(sfxE);
                 break;
         }
     }
@@ -506,10 +660,10 @@ public class BeatPress extends AbstractMinigame {
     public void dispose() {
         super.dispose();
 
-        press.dispose();
-        Ball.dispose();
+        AssetPreloader.release(ATLAS_PATH);
 
-        CardCrawlGame.music.unsilenceBGM();
+        if (!Headless.enabled)
+            CardCrawlGame.music.unsilenceBGM();
     }
 
     @Override
@@ -518,7 +672,10 @@ public class BeatPress extends AbstractMinigame {
 
         bindings.bindAll("BOOP", this::boop, null, null);
 
+        //right click on the title screen to calibrate
+        bindings.addMouseBind((x, y, button)->button == 1 && phase <= 0 && this.isWithinArea(x, y), (p)->startCalibration());
         bindings.addMouseBind((x, y, pointer)->this.isWithinArea(x, y), (p)->boop());
+        inputs = bindings;
         return bindings;
     }
 
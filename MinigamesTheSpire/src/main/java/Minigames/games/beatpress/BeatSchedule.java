@@ -0,0 +1,188 @@
+package Minigames.games.beatpress;
+
+import com.badlogic.gdx.math.RandomXS128;
+
+import java.util.Arrays;
+import java.util.Random;
+
+//Every ball of a game, decided up front: side, type and hit time per ball, sorted by hit time.
+//Balls themselves are only created when they start moving, so a schedule is all a game has to keep for balls that
+//haven't started yet. Immutable once built, so it can be generated on another thread.
+//Endless games are played as a chain of schedules, each one generated after the last and carrying on from where it ended.
+class BeatSchedule {
+    private final boolean[] right;
+    private final Ball.BallType[] types;
+    final float[] hitTimes;
+    private final int[] startOrder; //indices, sorted by the time the ball starts moving
+
+    final int base; //index of the first ball in the whole game, for schedules after the first
+    final float endTime; //when the ball after the last one would be hit, which is where the next schedule starts
+    private final boolean lastRight;
+    private final Ball.BallType lastType;
+
+    private BeatSchedule(boolean[] right, Ball.BallType[] types, float[] hitTimes, int base, float endTime, boolean lastRight, Ball.BallType lastType) {
+        this.right = right;
+        this.types = types;
+        this.hitTimes = hitTimes;
+        this.base = base;
+        this.endTime = endTime;
+        this.lastRight = lastRight;
+        this.lastType = lastType;
+
+        Integer[] order = new Integer[hitTimes.length];
+        for (int i = 0; i < order.length; ++i)
+            order[i] = i;
+        Arrays.sort(order, (a, b) -> Float.compare(getStartTime(a), getStartTime(b)));
+        startOrder = new int[order.length];
+        for (int i = 0; i < order.length; ++i)
+            startOrder[i] = order[i];
+    }
+
+    //A normal game: length "patterns", each made of two pattern library entries.
+    static BeatSchedule generate(int length, float mediumRate, float heckRate, int patternCount, long seed) {
+        return new Builder().addPatterns(length, mediumRate, heckRate, patternCount, new RandomXS128(seed)).build();
+    }
+
+    //The schedule that follows this one in an endless game.
+    BeatSchedule generateNext(int length, float mediumRate, float heckRate, int patternCount, long seed) {
+        return new Builder(base + size(), endTime, lastRight, lastType).addPatterns(length, mediumRate, heckRate, patternCount, new RandomXS128(seed)).build();
+    }
+
+    int size() {
+        return hitTimes.length;
+    }
+
+    boolean isRight(int i) {
+        return right[i];
+    }
+
+    Ball.BallType getType(int i) {
+        return types[i];
+    }
+
+    float getStartTime(int i) {
+        return hitTimes[i] - Ball.getDuration(types[i]);
+    }
+
+    //the index of the nth ball to start moving
+    int getStarting(int n) {
+        return startOrder[n];
+    }
+
+    static class Builder {
+        private boolean[] right = new boolean[64];
+        private Ball.BallType[] types = new Ball.BallType[64];
+        private float[] hitTimes = new float[64];
+        private int size = 0;
+
+        private final int base;
+        private final float startTime;
+        private float endTime;
+
+        //the side and type of the last ball added, which patterns can repeat or oppose
+        boolean lastRight;
+        Ball.BallType lastType;
+
+        Builder() {
+            this(0, 0, true, Ball.BallType.ROLL);
+        }
+
+        Builder(int base, float startTime, boolean lastRight, Ball.BallType lastType) {
+            this.base = base;
+            this.startTime = startTime;
+            this.endTime = startTime;
+            this.lastRight = lastRight;
+            this.lastType = lastType;
+        }
+
+        void add(Ball.BallType type, boolean isRight, float hitTime) {
+            if (size == hitTimes.length) {
+                right = Arrays.copyOf(right, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+                hitTimes = Arrays.copyOf(hitTimes, size * 2);
+            }
+            right[size] = isRight;
+            types[size] = type;
+            hitTimes[size] = hitTime;
+            ++size;
+
+            lastRight = isRight;
+            lastType = type;
+        }
+
+        //Adds balls from the start time on. Calling this more than once stacks the patterns on top of each other.
+        Builder addPatterns(int length, float mediumRate, float heckRate, int patternCount, Random rng) {
+            BeatPatternLibrary library = BeatPatternLibrary.get();
+
+            float time = startTime; //For the first ball, this should be when it first makes a sound.
+            int completePatterns = 0;
+
+            mediumRate += heckRate;
+
+            float type;
+
+            BeatPattern[] patterns = new BeatPattern[patternCount * 2];
+            boolean[] fixedSides = new boolean[patterns.length];
+            Ball.BallType[] fixedBalls = new Ball.BallType[patterns.length];
+            int patternIndex = 0;
+            boolean patternsDecided = false;
+
+            while (completePatterns < length)
+            {
+                if (!patternsDecided)
+                {
+                    type = rng.nextFloat();
+
+                    if (type < heckRate)
+                    {
+                        patterns[patternIndex] = library.heck[rng.nextInt(library.heck.length)];
+                    }
+                    else if (type < mediumRate)
+                    {
+                        patterns[patternIndex] = library.medium[rng.nextInt(library.medium.length)];
+                    }
+                    else
+                    {
+                        patterns[patternIndex] = library.basic[rng.nextInt(library.basic.length)];
+                    }
+                    //a repeated pattern keeps the side and type picked for its _ tokens
+                    fixedSides[patternIndex] = rng.nextBoolean();
+                    fixedBalls[patternIndex] = BeatPattern.getRandomBall(rng);
+                }
+
+                time = patterns[patternIndex].addBalls(this, time, fixedSides[patternIndex], fixedBalls[patternIndex], rng);
+
+                ++patternIndex;
+                if (patternIndex >= patterns.length)
+                    patternsDecided = true;
+
+                if (patternIndex % 2 == 0)
+                {
+                    ++completePatterns;
+
+                    if (patternsDecided)
+                        patternIndex = rng.nextInt(patternCount) * 2;
+                }
+            }
+            endTime = Math.max(endTime, time);
+            return this;
+        }
+
+        BeatSchedule build() {
+            Integer[] order = new Integer[size];
+            for (int i = 0; i < size; ++i)
+                order[i] = i;
+            Arrays.sort(order, (a, b) -> Float.compare(hitTimes[a], hitTimes[b]));
+
+            boolean[] sortedRight = new boolean[size];
+            Ball.BallType[] sortedTypes = new Ball.BallType[size];
+            float[] sortedTimes = new float[size];
+            for (int i = 0; i < size; ++i) {
+                sortedRight[i] = right[order[i]];
+                sortedTypes[i] = types[order[i]];
+                sortedTimes[i] = hitTimes[order[i]];
+            }
+            return new BeatSchedule(sortedRight, sortedTypes, sortedTimes, base, endTime, lastRight, lastType);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package Minigames.games.beatpress;
+
+import java.util.Arrays;
+
+//Hit times of every ball in a game, sorted, so a press finds the ball it was aimed at with a binary search
+//at the time of the press instead of every frame checking every ball on screen.
+//Works on ball indices in the game (BeatSchedule.base + index in the schedule), so balls that haven't started moving
+//yet don't need to exist. Schedules are appended as they're generated, and balls whose windows have closed are dropped
+//to make room, so an endless game doesn't keep growing.
+class HitTimeline {
+    private float[] times = new float[64];
+    private boolean[] hit = new boolean[64]; //also set for dropped balls, so they're neither found nor missed
+    private int base; //game index of times[0]
+    private int size;
+    private int cursor; //balls before this can't be hit anymore
+
+    void clear() {
+        base = 0;
+        size = 0;
+        cursor = 0;
+    }
+
+    //Schedules have to be appended in order, each one starting after the last.
+    void append(BeatSchedule schedule) {
+        int added = schedule.size();
+        if (size + added > times.length) {
+            //drop the closed balls first, and only grow if that isn't enough
+            size -= cursor;
+            System.arraycopy(times, cursor, times, 0, size);
+            System.arraycopy(hit, cursor, hit, 0, size);
+            base += cursor;
+            cursor = 0;
+
+            if (size + added > times.length) {
+                int capacity = Math.max(times.length * 2, size + added);
+                times = Arrays.copyOf(times, capacity);
+                hit = Arrays.copyOf(hit, capacity);
+            }
+        }
+        if (base + size != schedule.base)
+            throw new IllegalArgumentException("Schedule starting at ball " + schedule.base + " doesn't follow ball " + (base + size));
+
+        System.arraycopy(schedule.hitTimes, 0, times, size, added);
+        Arrays.fill(hit, size, size + added, false);
+        size += added;
+    }
+
+    //Drops the balls whose hit windows have closed. Cheap enough to call every frame, it only moves forward.
+    //Returns how many of them were never hit.
+    int advance(float time) {
+        int missed = 0;
+        while (cursor < size && times[cursor] < time - BeatPress.NOT_QUITE_WINDOW) {
+            if (!hit[cursor])
+                ++missed;
+            ++cursor;
+        }
+        return missed;
+    }
+
+    void markHit(int ball) {
+        hit[ball - base] = true;
+    }
+
+    //For a ball that will never come, so it isn't counted as missed
+    void drop(int ball) {
+        hit[ball - base] = true;
+    }
+
+    float getTime(int ball) {
+        return times[ball - base];
+    }
+
+    //The ball that hasn't been hit yet with its hit time closest to the press, or -1 if none are in the window.
+    int find(float time) {
+        int i = Arrays.binarySearch(times, cursor, size, time);
+        if (i < 0)
+            i = -i - 1; //first hit time after the press
+
+        //hit balls stay in the timeline, so look past them on both sides
+        int before = i - 1;
+        while (before >= cursor && hit[before]) {
+            --before;
+        }
+        int after = i;
+        while (after < size && hit[after]) {
+            ++after;
+        }
+
+        int closest = -1;
+        float closestGap = BeatPress.NOT_QUITE_WINDOW;
+        if (before >= cursor && time - times[before] < closestGap) {
+            closest = before;
+            closestGap = time - times[before];
+        }
+        if (after < size && times[after] - time < closestGap) {
+            closest = after;
+        }
+        return closest < 0 ? -1 : base + closest;
+    }
+}
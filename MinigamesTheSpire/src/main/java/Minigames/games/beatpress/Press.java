@@ -1,13 +1,10 @@
 package Minigames.games.beatpress;
 
 import Minigames.games.AbstractMinigame;
-import com.badlogic.gdx.graphics.Texture;
+import Minigames.util.HelperClass;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
-import com.megacrit.cardcrawl.core.CardCrawlGame;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
-
-import static Minigames.Minigames.makeGamePath;
 
 public class Press {
     private AbstractMinigame parent;
@@ -30,15 +27,18 @@ public class Press {
     private static final int PRESS_PRESSING_Y = BOTTOM_Y + 150;
     private static final int PRESS_X = -PRESS_WIDTH / 2;
 
+    static final float PRESS_TIME = 0.001f; //going down
+    static final float RECOVERY_TIME = 0.19f; //coming back up, the press can't be pressed again until it's done
+
     private int baseHeight;
     private int midHeight;
 
     private int pressHeight; //used to draw only a portion of the texture when moving to ready position from intro
     private int pressY;
 
-    private final Texture base;
-    private final Texture mid;
-    private final Texture press;
+    private final TextureRegion base;
+    private final TextureRegion mid;
+    private final TextureRegion press;
 
     public STATE state;
 
@@ -55,9 +55,9 @@ public class Press {
 
     public Press(AbstractMinigame parent) {
         this.parent = parent;
-        base = ImageMaster.loadImage(makeGamePath("beatpress/base.png"));
-        mid = ImageMaster.loadImage(makeGamePath("beatpress/mid.png"));
-        press = ImageMaster.loadImage(makeGamePath("beatpress/press.png"));
+        base = BeatPress.atlas.findRegion("base");
+        mid = BeatPress.atlas.findRegion("mid");
+        press = BeatPress.atlas.findRegion("press");
 
         state = STATE.HIDDEN;
         targetState = STATE.HIDDEN;
@@ -72,11 +72,11 @@ public class Press {
 
     public boolean press() {
         if (!inTransition && state == STATE.READY) {
-            CardCrawlGame.sound.play(BeatPress.sfxPress);
+            HelperClass.playSound(BeatPress.sfxPress);
             targetState = STATE.PRESS;
             stateTimer = 0;
             inTransition = true;
-            transitionTime = 0.001f;
+            transitionTime = PRESS_TIME;
             return true;
         }
         return false;
@@ -116,7 +116,7 @@ public class Press {
 
                 switch (state) {
                     case READY:
-                        CardCrawlGame.sound.play(BeatPress.sfxPressReady);
+                        HelperClass.playSound(BeatPress.sfxPressReady);
                         break;
                     case PRESS:
                         //play "hit" sound if there was a successful hit
@@ -125,7 +125,7 @@ public class Press {
                         targetState = STATE.READY;
                         stateTimer = 0;
                         inTransition = true;
-                        transitionTime = 0.19f;
+                        transitionTime = RECOVERY_TIME;
                         break;
                 }
             }
@@ -135,9 +135,9 @@ public class Press {
     public void render(SpriteBatch sb) {
         if (baseHeight > 0)
         {
-            parent.drawTexture(sb, press, PRESS_X, pressY, PRESS_WIDTH, pressHeight, 0, 0, 0, PRESS_WIDTH, pressHeight, false, false);
-            parent.drawTexture(sb, mid, MID_X, BOTTOM_Y, MID_WIDTH, midHeight, 0, MID_WIDTH, 1, false, false);
-            parent.drawTexture(sb, base, BASE_X, BOTTOM_Y, BASE_WIDTH, baseHeight, 0, BASE_WIDTH, 1, false, false);
+            parent.drawRegion(sb, press, PRESS_X, pressY, PRESS_WIDTH, pressHeight, 0, 0, 0, PRESS_WIDTH, pressHeight, false, false);
+            parent.drawRegion(sb, mid, MID_X, BOTTOM_Y, MID_WIDTH, midHeight, 0, MID_WIDTH, 1, false, false);
+            parent.drawRegion(sb, base, BASE_X, BOTTOM_Y, BASE_WIDTH, baseHeight, 0, BASE_WIDTH, 1, false, false);
         }
     }
 
@@ -151,10 +151,4 @@ public class Press {
             transitionTime = time;
         }
     }
-
-    public void dispose() {
-        press.dispose();
-        mid.dispose();
-        base.dispose();
-    }
 }
@@ -5,7 +5,6 @@ import com.badlogic.gdx.graphics.Texture;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 
 import static Minigames.Minigames.makeGamePath;
-import static Minigames.games.blackjack.BlackjackMinigame.MAX_BET;
 
 public class BetButton extends BlackjackButton {
     private static final Texture texture = TextureLoader.getTexture(makeGamePath("Blackjack/Cards/cardBack_blue1.png"));
@@ -17,7 +16,7 @@ public class BetButton extends BlackjackButton {
     }
 
     public void setBet() {
-        bet = Math.min(AbstractDungeon.player.gold, MAX_BET);
+        bet = Math.min(AbstractDungeon.player.gold, parent.rules.maxBet);
         this.text = TEXT[0] + bet + TEXT[1];
     }
 
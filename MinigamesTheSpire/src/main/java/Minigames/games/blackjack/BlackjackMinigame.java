@@ -4,8 +4,11 @@ import Minigames.Minigames;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.mastermind.MastermindMinigame;
+import Minigames.util.AssetPreloader;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
@@ -16,7 +19,6 @@ import com.megacrit.cardcrawl.localization.UIStrings;
 import com.megacrit.cardcrawl.relics.Ectoplasm;
 
 import java.util.ArrayList;
-import java.util.Collections;
 
 public class BlackjackMinigame extends AbstractMinigame {
     protected static final EventStrings eventStrings = CardCrawlGame.languagePack.getEventString(Minigames.makeID("Blackjack"));
@@ -28,11 +30,16 @@ public class BlackjackMinigame extends AbstractMinigame {
     private int pages = 0;
     private static final int TOTAL_PAGES = 2;
 
+    public static final String ATLAS_PATH = Minigames.makeGamePath("Blackjack/Cards/cards.atlas");
+    public static TextureAtlas atlas;
+
     private Player player;
     private Dealer dealer;
-    private ArrayList<PokerCard> deck = new ArrayList<>();
+    private Shoe shoe;
     private HitButton hitButton;
     private StandButton standButton;
+    private DoubleButton doubleButton;
+    private SplitButton splitButton;
     private BetButton betButton;
     private LeaveButton leaveButton;
     private PlayAgainButton playAgainButton;
@@ -46,28 +53,47 @@ public class BlackjackMinigame extends AbstractMinigame {
     public static final int FINISHED = 3;
     public static final int LEAVE = 4;
 
+    public static final int DEFAULT_DECKS = 6;
+    public static final float DEFAULT_PENETRATION = 0.75f;
+    final BlackjackRules rules;
+
     public static final int BUST_THRESHOLD = 21;
     public static final int MIN_BET = 15;
     public static final int MAX_BET = 50;
-    private static final int payOutMultiplier = 3;
-    private static final int MAX_PLAYS = 3;
+    static final int payOutMultiplier = 3;
+    static final int MAX_PLAYS = 3;
     public int numPlays = 0;
     public int bet;
 
     public BlackjackMinigame() {
+        this(BlackjackRules.DEFAULT);
+    }
+
+    public BlackjackMinigame(BlackjackRules rules) {
         super();
+        this.rules = rules;
+    }
+
+    @Override
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        super.declareAssets(assets);
+        assets.add(new AssetDescriptor<>(ATLAS_PATH, TextureAtlas.class));
     }
 
     @Override
     public void initialize() {
         super.initialize();
+        atlas = AssetPreloader.retain(ATLAS_PATH, TextureAtlas.class, null);
         player = new Player(this);
         dealer = new Dealer(this);
         hitButton = new HitButton(300.0f * Settings.scale, 200.0f * Settings.scale, this);
         standButton = new StandButton(100.0f * Settings.scale, 200.0f * Settings.scale, this);
+        doubleButton = new DoubleButton(500.0f * Settings.scale, 200.0f * Settings.scale, this);
+        splitButton = new SplitButton(700.0f * Settings.scale, 200.0f * Settings.scale, this);
         betButton = new BetButton(200.0f * Settings.scale, 200.0f * Settings.scale, this);
         leaveButton = new LeaveButton(100.0f * Settings.scale, 200.0f * Settings.scale, this);
         playAgainButton = new PlayAgainButton(300.0f * Settings.scale, 200.0f * Settings.scale, this);
+        shoe = new Shoe(rules.decks, rules.penetration, AbstractDungeon.eventRng.random);
         createNewDeck();
         bet = 0;
         phase = BETTING;
@@ -85,6 +111,8 @@ public class BlackjackMinigame extends AbstractMinigame {
             case PLAYER_TURN:
                 hitButton.update();
                 standButton.update();
+                doubleButton.update();
+                splitButton.update();
                 break;
             case DEALER_TURN:
                 dealer.update(elapsed);
@@ -108,6 +136,7 @@ public class BlackjackMinigame extends AbstractMinigame {
         AbstractDungeon.player.loseGold(bet);
         setPhase(BlackjackMinigame.PLAYER_TURN);
         dealInitialCards();
+        player.getCurrentHand().bet = bet;
     }
 
     public void startDealerTurn() {
@@ -125,6 +154,8 @@ public class BlackjackMinigame extends AbstractMinigame {
         if (phase == PLAYER_TURN) {
             hitButton.render(sb);
             standButton.render(sb);
+            doubleButton.render(sb);
+            splitButton.render(sb);
         }
         if (phase == FINISHED) {
             leaveButton.render(sb);
@@ -144,8 +175,7 @@ public class BlackjackMinigame extends AbstractMinigame {
     @Override
     public void dispose() {
         super.dispose();
-        player.dispose();
-        dealer.dispose();
+        AssetPreloader.release(ATLAS_PATH);
 //        betButton.dispose();
 //        hitButton.dispose();
 //        standButton.dispose();
@@ -162,40 +192,22 @@ public class BlackjackMinigame extends AbstractMinigame {
     }
 
     public void createNewDeck() {
-        addAllCardsOfSuite(PokerCard.Suite.Clubs);
-        addAllCardsOfSuite(PokerCard.Suite.Diamonds);
-        addAllCardsOfSuite(PokerCard.Suite.Hearts);
-        addAllCardsOfSuite(PokerCard.Suite.Spades);
-        Collections.shuffle(deck, AbstractDungeon.eventRng.random);
-    }
-
-    public void addAllCardsOfSuite(PokerCard.Suite suite) {
-        for (int i = 2; i <= 14; i++) {
-            PokerCard card;
-            if (i == 14) {
-                card = new PokerCard(i, suite, true, this);
-            } else {
-                card = new PokerCard(i, suite, this);
-            }
-            deck.add(card);
-        }
+        shoe.shuffle();
     }
 
     public void dealInitialCards() {
         numPlays++;
         player.busted = false;
         dealer.busted = false;
+        if (shoe.needsShuffle()) {
+            createNewDeck();
+        }
 
-        PokerCard card = deck.remove(0);
-        player.addToHand(card);
-        card = deck.remove(0);
-        player.addToHand(card);
+        player.addToHand(shoe.draw());
+        player.addToHand(shoe.draw());
 
-        card = deck.remove(0);
-        card.flipOver();
-        dealer.addToHand(card);
-        card = deck.remove(0);
-        dealer.addToHand(card);
+        dealer.addToHand(PokerCard.flipOver(shoe.draw()));
+        dealer.addToHand(shoe.draw());
 
         middleText = "";
         playerHandValue = player.getHandValue();
@@ -208,52 +220,105 @@ public class BlackjackMinigame extends AbstractMinigame {
         setPhase(BETTING);
     }
 
-    public void hit(AbstractBlackjackPlayer person) {
-        PokerCard card = deck.remove(0);
-        person.addToHand(card);
+    //Returns whether the card busted them
+    public boolean hit(AbstractBlackjackPlayer person) {
+        person.addToHand(shoe.draw());
         int randomSound = AbstractDungeon.eventRng.random(1, 3);
         CardCrawlGame.sound.playV(Minigames.makeID("cardPlace" + randomSound), 8.0f);
         if (bust(person)) {
-            person.busted = true;
             if (person == player) {
-                playerLose();
+                playerHandValue = player.getHandValue();
+                finishHand();
             } else {
-                dealerHandValue = dealer.getHandValue();
-                playerWin();
+                person.busted = true;
+                compareHands();
             }
+            return true;
         }
+        return false;
     }
 
     public void playerHit() {
-        hit(player);
-        playerHandValue = player.getHandValue();
+        if (!hit(player)) {
+            playerHandValue = player.getHandValue();
+        }
     }
 
-    public void playerWin() {
-        setPhase(FINISHED);
-        AbstractDungeon.player.gainGold(bet * payOutMultiplier);
-        middleText = TEXT[5];
+    public void playerStand() {
+        finishHand();
     }
 
-    public void playerLose() {
-        setPhase(FINISHED);
-        middleText = TEXT[6];
+    public boolean canDouble() {
+        Hand hand = player.getCurrentHand();
+        return hand.size() == 2 && AbstractDungeon.player.gold >= hand.bet;
     }
 
-    public void playerTie() {
-        setPhase(FINISHED);
-        AbstractDungeon.player.gainGold(bet);
-        middleText = TEXT[7];
+    //Double the bet, take exactly one more card and stand
+    public void playerDouble() {
+        Hand hand = player.getCurrentHand();
+        AbstractDungeon.player.loseGold(hand.bet);
+        hand.bet *= 2;
+        if (!hit(player)) {
+            playerHandValue = player.getHandValue();
+            finishHand();
+        }
+    }
+
+    public boolean canSplit() {
+        return player.canSplit() && AbstractDungeon.player.gold >= player.getCurrentHand().bet;
+    }
+
+    //Split aces get one card each and can't be played further
+    public void playerSplit() {
+        boolean aces = PokerCard.isAce(player.getCurrentHand().get(0));
+        AbstractDungeon.player.loseGold(player.getCurrentHand().bet);
+        player.split();
+        hit(player);
+        playerHandValue = player.getHandValue();
+        if (aces) {
+            finishHand();
+        }
     }
 
+    //Moves on to the player's next hand, or to the dealer once they're all played
+    private void finishHand() {
+        if (player.nextHand()) {
+            boolean aces = PokerCard.isAce(player.getCurrentHand().get(0));
+            hit(player); //split hands start with one card
+            playerHandValue = player.getHandValue();
+            if (aces) {
+                finishHand();
+            }
+        } else if (player.allBusted()) {
+            player.busted = true;
+            compareHands();
+        } else {
+            startDealerTurn();
+        }
+    }
+
+    //Pays out every one of the player's hands against the dealer's
     public void compareHands() {
+        setPhase(FINISHED);
         dealerHandValue = dealer.getHandValue();
-        if (player.getHandValue() > dealer.getHandValue()) {
-            playerWin();
-        } else if (dealer.getHandValue() > player.getHandValue()) {
-            playerLose();
+
+        int staked = 0;
+        int returned = 0;
+        for (int i = 0; i < player.getHandCount(); i++) {
+            Hand hand = player.getHand(i);
+            staked += hand.bet;
+            returned += rules.payout(hand, dealer.hand);
+        }
+        if (returned > 0) {
+            AbstractDungeon.player.gainGold(returned);
+        }
+
+        if (returned > staked) {
+            middleText = TEXT[5];
+        } else if (returned < staked) {
+            middleText = TEXT[6];
         } else {
-            playerTie();
+            middleText = TEXT[7];
         }
     }
 
@@ -262,7 +327,7 @@ public class BlackjackMinigame extends AbstractMinigame {
     }
 
     public boolean canPlayAgain() {
-        if (numPlays < MAX_PLAYS && AbstractDungeon.player.gold >= MIN_BET) {
+        if (numPlays < rules.maxPlays && AbstractDungeon.player.gold >= rules.minBet) {
             return true;
         }
         return false;
@@ -292,9 +357,9 @@ public class BlackjackMinigame extends AbstractMinigame {
 
     @Override
     public boolean canSpawn() {
-        return (!AbstractDungeon.player.hasRelic(Ectoplasm.ID)) && AbstractDungeon.player.gold >= MIN_BET;
+        return (!AbstractDungeon.player.hasRelic(Ectoplasm.ID)) && AbstractDungeon.player.gold >= rules.minBet;
     }
 
-    public AbstractMinigame makeCopy(){ return new BlackjackMinigame(); }
+    public AbstractMinigame makeCopy(){ return new BlackjackMinigame(rules); }
 
 }
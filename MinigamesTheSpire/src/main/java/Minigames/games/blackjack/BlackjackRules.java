@@ -0,0 +1,52 @@
+package Minigames.games.blackjack;
+
+//The numbers a blackjack game is played with, so the simulator can play variants of them.
+//Doesn't touch localization or the dungeon, unlike BlackjackMinigame, so it can be used headless.
+public class BlackjackRules {
+    public static final int DEALER_STANDS_ON = 17;
+
+    public static final BlackjackRules DEFAULT = new BlackjackRules(BlackjackMinigame.DEFAULT_DECKS, BlackjackMinigame.DEFAULT_PENETRATION,
+            DEALER_STANDS_ON, BlackjackMinigame.payOutMultiplier, BlackjackMinigame.MIN_BET, BlackjackMinigame.MAX_BET, BlackjackMinigame.MAX_PLAYS);
+
+    public final int decks;
+    public final float penetration; //fraction of the shoe dealt before it's reshuffled
+    public final int dealerStandsOn;
+    public final int payOutMultiplier; //gold handed back for a win, as a multiple of the bet
+    public final int minBet;
+    public final int maxBet;
+    public final int maxPlays;
+
+    public BlackjackRules(int decks, float penetration, int dealerStandsOn, int payOutMultiplier, int minBet, int maxBet, int maxPlays) {
+        this.decks = decks;
+        this.penetration = penetration;
+        this.dealerStandsOn = dealerStandsOn;
+        this.payOutMultiplier = payOutMultiplier;
+        this.minBet = minBet;
+        this.maxBet = maxBet;
+        this.maxPlays = maxPlays;
+    }
+
+    public boolean dealerHits(Hand dealerHand) {
+        return dealerHand.getValue() < dealerStandsOn;
+    }
+
+    //Gold handed back for a hand, including its bet
+    public int payout(Hand hand, Hand dealerHand) {
+        if (hand.isBust()) {
+            return 0;
+        }
+        if (dealerHand.isBust() || hand.getValue() > dealerHand.getValue()) {
+            return hand.bet * payOutMultiplier;
+        }
+        if (hand.getValue() == dealerHand.getValue()) {
+            return hand.bet;
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%d decks, %.0f%% penetration, dealer stands on %d, pays %dx, bets %d-%d, %d plays",
+                decks, penetration * 100, dealerStandsOn, payOutMultiplier, minBet, maxBet, maxPlays);
+    }
+}
@@ -0,0 +1,274 @@
+package Minigames.games.blackjack;
+
+import com.badlogic.gdx.math.RandomXS128;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Plays blackjack sessions the way BlackjackMinigame does, without any of the game around it, for balancing rewards.
+// A session is one visit to the event: the player starts with some gold and plays up to maxPlays rounds, betting as
+// much as the bet button offers each time, as long as they have minBet left.
+//
+// Sessions are split into fixed-size chunks, each with its own shoe and a generator seeded from the seed and the chunk's
+// index, and the chunks are played on a fork/join pool. The result only depends on the seed, not on how many threads ran.
+// The loop doesn't allocate: cards are bytes and the hands are reused.
+
+public class BlackjackSimulator {
+    public static final Logger logger = LogManager.getLogger(BlackjackSimulator.class.getName());
+
+    private static final int CHUNK_SESSIONS = 8192;
+
+    public static final int STAND = 0, HIT = 1, DOUBLE = 2, SPLIT = 3;
+
+    //How the simulated player plays each hand under the rules being simulated. Returns STAND, HIT, DOUBLE or SPLIT;
+    //DOUBLE and SPLIT are only returned when allowed.
+    public interface Strategy {
+        int decide(BlackjackRules rules, Hand hand, byte dealerUpCard, boolean canDouble, boolean canSplit);
+    }
+
+    //Plays like the dealer has to under the same rules
+    public static final Strategy MIMIC_DEALER = (rules, hand, up, canDouble, canSplit) ->
+            rules.dealerHits(hand) ? HIT : STAND;
+
+    //A short version of the usual basic strategy, close to what a player who knows the game would do
+    public static final Strategy BASIC = (rules, hand, up, canDouble, canSplit) -> {
+        int dealer = PokerCard.isAce(up) ? PokerCard.ACE_HIGH_VALUE : PokerCard.getBlackjackValue(up);
+        int value = hand.getValue();
+        boolean dealerWeak = dealer >= 2 && dealer <= 6;
+
+        if (canSplit) {
+            int pair = PokerCard.getValue(hand.get(0));
+            if (pair == PokerCard.ACE || pair == 8 || (pair == 9 && dealerWeak) || (pair <= 3 && dealerWeak))
+                return SPLIT;
+        }
+        if (canDouble && !hand.isSoft() && (value == 11 || (value == 10 && dealer < 10) || (value == 9 && dealerWeak)))
+            return DOUBLE;
+        if (hand.isSoft())
+            return value >= 19 || (value == 18 && dealer < 9) ? STAND : HIT;
+        if (value >= 17)
+            return STAND;
+        if (value >= 13)
+            return dealerWeak ? STAND : HIT;
+        if (value == 12)
+            return dealer >= 4 && dealer <= 6 ? STAND : HIT;
+        return HIT;
+    };
+
+    public static class Result {
+        public long sessions;
+        public long rounds;
+        public long hands; //more than rounds when players split
+        public long wins, losses, ties; //per hand
+        public long doubles, splits;
+        public long goldBet;
+        public long goldNet; //gold gained over all sessions, negative if the house came out ahead
+        public double goldNetSquares; //sum of squared net gold per session, for the error
+
+        //Expected gold gained from one visit to the event
+        public double expectedReturn() {
+            return sessions == 0 ? 0 : goldNet / (double) sessions;
+        }
+
+        //Standard error of expectedReturn
+        public double standardError() {
+            if (sessions < 2)
+                return 0;
+            double mean = expectedReturn();
+            double variance = (goldNetSquares - sessions * mean * mean) / (sessions - 1);
+            return Math.sqrt(Math.max(variance, 0) / sessions);
+        }
+
+        //Gold gained per gold bet
+        public double returnPerGoldBet() {
+            return goldBet == 0 ? 0 : goldNet / (double) goldBet;
+        }
+
+        void add(Result other) {
+            sessions += other.sessions;
+            rounds += other.rounds;
+            hands += other.hands;
+            wins += other.wins;
+            losses += other.losses;
+            ties += other.ties;
+            doubles += other.doubles;
+            splits += other.splits;
+            goldBet += other.goldBet;
+            goldNet += other.goldNet;
+            goldNetSquares += other.goldNetSquares;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d sessions, %d hands: %.2f gold per session (+-%.2f), %.4f per gold bet, W/L/T %.3f/%.3f/%.3f, %d doubles, %d splits",
+                    sessions, hands, expectedReturn(), standardError(), returnPerGoldBet(),
+                    wins / (double) hands, losses / (double) hands, ties / (double) hands, doubles, splits);
+        }
+    }
+
+    public static Result run(BlackjackRules rules, Strategy strategy, int startingGold, long sessions, long seed) {
+        return run(rules, strategy, startingGold, sessions, seed, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param startingGold - gold the player has when they reach the event
+     * @param seed - the same seed always gives the same result
+     */
+    public static Result run(BlackjackRules rules, Strategy strategy, int startingGold, long sessions, long seed, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        long chunks = (sessions + CHUNK_SESSIONS - 1) / CHUNK_SESSIONS;
+        Result result = pool.invoke(new SimulationTask(rules, strategy, startingGold, sessions, seed, 0, chunks));
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        logger.info(rules + ", " + startingGold + " gold: " + result + String.format(" (%.1fM hands/s)", result.hands / seconds / 1e6));
+        return result;
+    }
+
+    private static class SimulationTask extends RecursiveTask<Result> {
+        private final BlackjackRules rules;
+        private final Strategy strategy;
+        private final int startingGold;
+        private final long sessions;
+        private final long seed;
+        private final long firstChunk, lastChunk; //[firstChunk, lastChunk)
+
+        SimulationTask(BlackjackRules rules, Strategy strategy, int startingGold, long sessions, long seed, long firstChunk, long lastChunk) {
+            this.rules = rules;
+            this.strategy = strategy;
+            this.startingGold = startingGold;
+            this.sessions = sessions;
+            this.seed = seed;
+            this.firstChunk = firstChunk;
+            this.lastChunk = lastChunk;
+        }
+
+        @Override
+        protected Result compute() {
+            if (lastChunk - firstChunk <= 1) {
+                Result result = new Result();
+                if (lastChunk > firstChunk) {
+                    long count = Math.min(CHUNK_SESSIONS, sessions - firstChunk * CHUNK_SESSIONS);
+                    new Table(rules, strategy, seed ^ (firstChunk * 0x9E3779B97F4A7C15L)).play(startingGold, count, result);
+                }
+                return result;
+            }
+
+            long middle = (firstChunk + lastChunk) >>> 1;
+            SimulationTask second = new SimulationTask(rules, strategy, startingGold, sessions, seed, middle, lastChunk);
+            second.fork();
+            Result result = new SimulationTask(rules, strategy, startingGold, sessions, seed, firstChunk, middle).compute();
+            result.add(second.join());
+            return result;
+        }
+    }
+
+    //One chunk's shoe and hands. Follows the same steps as BlackjackMinigame: setBet, dealInitialCards, the buttons,
+    //Dealer.takeTurn and compareHands.
+    private static class Table {
+        private final BlackjackRules rules;
+        private final Strategy strategy;
+        private final Shoe shoe;
+        private final Player player = new Player(null);
+        private final Hand dealer = new Hand();
+
+        Table(BlackjackRules rules, Strategy strategy, long seed) {
+            this.rules = rules;
+            this.strategy = strategy;
+            this.shoe = new Shoe(rules.decks, rules.penetration, new RandomXS128(seed));
+        }
+
+        void play(int startingGold, long count, Result result) {
+            for (long s = 0; s < count; ++s) {
+                shoe.shuffle(); //every visit to the event is a new game with a new shoe
+
+                int gold = startingGold;
+                for (int plays = 0; plays < rules.maxPlays && gold >= rules.minBet; ++plays) {
+                    gold = playRound(gold, result);
+                }
+
+                int net = gold - startingGold;
+                result.goldNet += net;
+                result.goldNetSquares += (double) net * net;
+                ++result.sessions;
+            }
+        }
+
+        //Returns the player's gold after the round
+        private int playRound(int gold, Result result) {
+            player.clearHand();
+            dealer.clear();
+            if (shoe.needsShuffle())
+                shoe.shuffle();
+
+            int bet = Math.min(gold, rules.maxBet);
+            gold -= bet;
+            result.goldBet += bet;
+            ++result.rounds;
+
+            player.addToHand(shoe.draw());
+            player.addToHand(shoe.draw());
+            player.getCurrentHand().bet = bet;
+            dealer.add(shoe.draw()); //face down
+            dealer.add(shoe.draw());
+            byte upCard = dealer.get(1);
+
+            do {
+                Hand hand = player.getCurrentHand();
+                if (hand.size() == 1) { //split hands start with one card
+                    boolean aces = PokerCard.isAce(hand.get(0));
+                    hand.add(shoe.draw());
+                    if (aces)
+                        continue;
+                }
+
+                while (!hand.isBust()) {
+                    boolean canDouble = hand.size() == 2 && gold >= hand.bet;
+                    boolean canSplit = player.canSplit() && gold >= hand.bet;
+                    int action = strategy.decide(rules, hand, upCard, canDouble, canSplit);
+
+                    if (action == STAND) {
+                        break;
+                    } else if (action == DOUBLE && canDouble) {
+                        gold -= hand.bet;
+                        result.goldBet += hand.bet;
+                        hand.bet *= 2;
+                        hand.add(shoe.draw());
+                        ++result.doubles;
+                        break;
+                    } else if (action == SPLIT && canSplit) {
+                        boolean aces = PokerCard.isAce(hand.get(0));
+                        gold -= hand.bet;
+                        result.goldBet += hand.bet;
+                        player.split();
+                        hand.add(shoe.draw());
+                        ++result.splits;
+                        if (aces)
+                            break;
+                    } else {
+                        hand.add(shoe.draw());
+                    }
+                }
+            } while (player.nextHand());
+
+            if (!player.allBusted()) {
+                while (rules.dealerHits(dealer))
+                    dealer.add(shoe.draw());
+            }
+
+            for (int i = 0; i < player.getHandCount(); i++) {
+                Hand hand = player.getHand(i);
+                gold += rules.payout(hand, dealer);
+
+                ++result.hands;
+                if (hand.isBust() || (!dealer.isBust() && hand.getValue() < dealer.getValue()))
+                    ++result.losses;
+                else if (!dealer.isBust() && hand.getValue() == dealer.getValue())
+                    ++result.ties;
+                else
+                    ++result.wins;
+            }
+            return gold;
+        }
+    }
+}
@@ -2,7 +2,6 @@ package Minigames.games.blackjack;
 
 import Minigames.games.AbstractMinigame;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
 
 public class Dealer extends AbstractBlackjackPlayer{
     private float timer;
@@ -13,11 +12,9 @@ public class Dealer extends AbstractBlackjackPlayer{
     }
 
     public void render(SpriteBatch sb) {
-        int count = 1;
         int initalXOffset = -AbstractMinigame.SIZE / 2;
-        for (PokerCard card : hand) {
-            card.render(sb, new Vector2(initalXOffset + (float)AbstractMinigame.SIZE / 8 * count, (float)AbstractMinigame.SIZE / 3));
-            count++;
+        for (int i = 0; i < hand.size(); i++) {
+            PokerCard.render(parent, sb, hand.get(i), initalXOffset + (float)AbstractMinigame.SIZE / 8 * (i + 1), (float)AbstractMinigame.SIZE / 3);
         }
     }
 
@@ -30,15 +27,11 @@ public class Dealer extends AbstractBlackjackPlayer{
     }
 
     public void flipUpCard() {
-        for (PokerCard card : hand) {
-            if (card.isFaceDown) {
-                card.flipOver();
-            }
-        }
+        hand.flipUpAll();
     }
 
     public void takeTurn() {
-        if (getHandValue() >= 17) {
+        if (!parent.rules.dealerHits(hand)) {
             parent.compareHands();
         } else {
             parent.hit(this);
@@ -0,0 +1,46 @@
+package Minigames.games.blackjack;
+
+import java.util.Random;
+
+//One or more standard decks as a byte array of cards (see PokerCard), dealt from the front.
+public class Deck {
+    public static final int CARDS_PER_DECK = 52;
+
+    private final byte[] cards;
+    private int next = 0;
+
+    public Deck(int decks) {
+        cards = new byte[decks * CARDS_PER_DECK];
+        int i = 0;
+        for (int d = 0; d < decks; ++d) {
+            for (PokerCard.Suite suite : PokerCard.Suite.values()) {
+                for (int value = 2; value <= PokerCard.ACE; ++value) {
+                    cards[i++] = PokerCard.of(value, suite);
+                }
+            }
+        }
+    }
+
+    //Puts every card back and shuffles in place. The same swaps as Collections.shuffle, so a seed deals the same cards it used to.
+    public void shuffle(Random rng) {
+        for (int i = cards.length; i > 1; --i) {
+            int j = rng.nextInt(i);
+            byte card = cards[i - 1];
+            cards[i - 1] = cards[j];
+            cards[j] = card;
+        }
+        next = 0;
+    }
+
+    public byte draw() {
+        return cards[next++];
+    }
+
+    public int remaining() {
+        return cards.length - next;
+    }
+
+    public int size() {
+        return cards.length;
+    }
+}
@@ -0,0 +1,32 @@
+package Minigames.games.blackjack;
+
+import Minigames.util.TextureLoader;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+import static Minigames.Minigames.makeGamePath;
+
+public class DoubleButton extends BlackjackButton {
+    private static final Texture texture = TextureLoader.getTexture(makeGamePath("Blackjack/Cards/cardBack_blue1.png"));
+
+    public DoubleButton(float x, float y, BlackjackMinigame parent) {
+        super(x, y, texture, parent);
+        this.text = TEXT[11];
+    }
+
+    public void update() {
+        if (parent.canDouble()) {
+            super.update();
+            if (pressed) {
+                parent.playerDouble();
+                pressed = false;
+            }
+        }
+    }
+
+    public void render(SpriteBatch sb) {
+        if (parent.canDouble()) {
+            super.render(sb);
+        }
+    }
+}
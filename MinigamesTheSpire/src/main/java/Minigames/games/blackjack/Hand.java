@@ -0,0 +1,75 @@
+package Minigames.games.blackjack;
+
+import java.util.Arrays;
+
+//The cards in a hand, with its total kept up to date as cards are added instead of recounted every time it's asked for.
+//Aces are counted as ACE_LOW_VALUE in the hard total; one of them counts high as well whenever that doesn't bust.
+public class Hand {
+    private static final int ACE_BONUS = PokerCard.ACE_HIGH_VALUE - PokerCard.ACE_LOW_VALUE;
+
+    private byte[] cards = new byte[8];
+    private int size = 0;
+
+    private int hardTotal = 0;
+    private int aces = 0;
+
+    public int bet = 0; //gold riding on this hand, for the player's hands
+
+    public void add(byte card) {
+        if (size == cards.length)
+            cards = Arrays.copyOf(cards, size * 2);
+        cards[size++] = card;
+
+        hardTotal += PokerCard.getBlackjackValue(card);
+        if (PokerCard.isAce(card))
+            ++aces;
+    }
+
+    //for splitting
+    public byte removeLast() {
+        byte card = cards[--size];
+        hardTotal -= PokerCard.getBlackjackValue(card);
+        if (PokerCard.isAce(card))
+            --aces;
+        return card;
+    }
+
+    public void clear() {
+        size = 0;
+        hardTotal = 0;
+        aces = 0;
+        bet = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public byte get(int i) {
+        return cards[i];
+    }
+
+    public int getValue() {
+        return isSoft() ? hardTotal + ACE_BONUS : hardTotal;
+    }
+
+    public boolean isBust() {
+        return hardTotal > BlackjackMinigame.BUST_THRESHOLD;
+    }
+
+    //whether an ace is counting high
+    public boolean isSoft() {
+        return aces > 0 && hardTotal + ACE_BONUS <= BlackjackMinigame.BUST_THRESHOLD;
+    }
+
+    public void flipUpAll() {
+        for (int i = 0; i < size; ++i) {
+            if (PokerCard.isFaceDown(cards[i]))
+                cards[i] = PokerCard.flipOver(cards[i]);
+        }
+    }
+
+    public void flipOver(int i) {
+        cards[i] = PokerCard.flipOver(cards[i]);
+    }
+}
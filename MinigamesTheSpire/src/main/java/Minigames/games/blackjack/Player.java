@@ -1,21 +1,98 @@
 package Minigames.games.blackjack;
 
 import Minigames.games.AbstractMinigame;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
 
+//The player can split into up to MAX_HANDS hands, which are played one at a time. hand is the one being played.
 public class Player extends AbstractBlackjackPlayer {
+    public static final int MAX_HANDS = 4;
+    private static final Color WAITING_COLOR = new Color(0.6f, 0.6f, 0.6f, 1.0f);
+
+    private final Hand[] hands = new Hand[MAX_HANDS];
+    private int handCount = 1;
+    private int current = 0;
 
     public Player(BlackjackMinigame parent) {
         super(parent);
+        hands[0] = hand;
+        for (int i = 1; i < MAX_HANDS; i++) {
+            hands[i] = new Hand();
+        }
     }
 
     public void render(SpriteBatch sb) {
-        int count = 1;
-        int initalXOffset = -AbstractMinigame.SIZE / 2;
-        for (PokerCard card : hand) {
-            card.render(sb, new Vector2(initalXOffset + (float)AbstractMinigame.SIZE / 8 * count, (float)-AbstractMinigame.SIZE / 3));
-            count++;
+        int handWidth = AbstractMinigame.SIZE / handCount;
+        for (int h = 0; h < handCount; h++) {
+            Hand played = hands[h];
+            float spacing = Math.min((float)AbstractMinigame.SIZE / 8, (float)handWidth / (played.size() + 1));
+            float initalXOffset = -AbstractMinigame.SIZE / 2 + h * handWidth;
+            Color color = handCount > 1 && h != current && parent.phase == BlackjackMinigame.PLAYER_TURN ? WAITING_COLOR : Color.WHITE;
+            for (int i = 0; i < played.size(); i++) {
+                PokerCard.render(parent, sb, played.get(i), initalXOffset + spacing * (i + 1), (float)-AbstractMinigame.SIZE / 3, color);
+            }
+        }
+        sb.setColor(Color.WHITE);
+    }
+
+    @Override
+    public void addToHand(byte card) {
+        hands[current].add(card);
+    }
+
+    @Override
+    public void clearHand() {
+        for (int i = 0; i < handCount; i++) {
+            hands[i].clear();
+        }
+        handCount = 1;
+        current = 0;
+    }
+
+    @Override
+    public int getHandValue() {
+        return hands[current].getValue();
+    }
+
+    public Hand getCurrentHand() {
+        return hands[current];
+    }
+
+    public int getHandCount() {
+        return handCount;
+    }
+
+    public Hand getHand(int i) {
+        return hands[i];
+    }
+
+    public boolean canSplit() {
+        Hand played = hands[current];
+        return handCount < MAX_HANDS && played.size() == 2 && PokerCard.getValue(played.get(0)) == PokerCard.getValue(played.get(1));
+    }
+
+    //Moves the second card of the current hand to a new hand with the same bet, played after the ones already there.
+    public void split() {
+        Hand played = hands[current];
+        Hand split = hands[handCount++];
+        split.clear();
+        split.add(played.removeLast());
+        split.bet = played.bet;
+    }
+
+    //Moves on to the next hand, if there is one.
+    public boolean nextHand() {
+        if (current + 1 >= handCount)
+            return false;
+        current++;
+        return true;
+    }
+
+    public boolean allBusted() {
+        for (int i = 0; i < handCount; i++) {
+            if (!hands[i].isBust())
+                return false;
         }
+        return true;
     }
 }
@@ -1,14 +1,12 @@
 package Minigames.games.blackjack;
 
-import Minigames.util.TextureLoader;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
-
-import static Minigames.Minigames.makeGamePath;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 
+//Cards are bytes: the value (2-14, aces are 14) in the low 4 bits, the suite in the next 2, and FACE_DOWN on top.
+//Nothing is loaded per card; the 52 faces are looked up in the atlas the first time each one is drawn and shared after that.
 public class PokerCard {
 
     public enum Suite {
@@ -18,67 +16,51 @@ public class PokerCard {
     public static final int ROYAL_VALUE = 10;
     public static final int ACE_HIGH_VALUE = 11;
     public static final int ACE_LOW_VALUE = 1;
-    public static final Texture cardBack = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/cardBack_blue2.png"));
-
-    private int value;
-    private Suite suite;
-    public boolean isAce;
-    public boolean isFaceDown = false;
-    private Texture t;
-    private Color c;
-    private BlackjackMinigame parent;
-
-    public PokerCard(int value, Suite suite, boolean isAce, BlackjackMinigame parent) {
-        this.value = value;
-        this.suite = suite;
-        this.isAce = isAce;
-        this.parent = parent;
-        c = Color.WHITE.cpy();
-        if (value <= 10) {
-            t = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/card" + suite.toString() + value + ".png"));
-        } else {
-            switch (value) {
-                case 11: {
-                    t = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/card" + suite.toString() + "J.png"));
-                    break;
-                }
-                case 12: {
-                    t = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/card" + suite.toString() + "Q.png"));
-                    break;
-                }
-                case 13: {
-                    t = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/card" + suite.toString() + "K.png"));
-                    break;
-                }
-                case 14: {
-                    t = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/card" + suite.toString() + "A.png"));
-                    break;
-                }
-            }
-        }
+
+    public static final int ACE = 14;
+    public static final byte FACE_DOWN = 0x40;
+    private static final int VALUE_MASK = 0x0F;
+    private static final int SUITE_SHIFT = 4;
+
+    private static final Suite[] SUITES = Suite.values();
+
+    //card faces, indexed by card without FACE_DOWN. Cleared when the atlas is reloaded.
+    private static final TextureRegion[] faces = new TextureRegion[64];
+    private static TextureRegion cardBack;
+    private static TextureAtlas facesAtlas;
+
+    private PokerCard() {
     }
 
-    public PokerCard(int value, Suite suite, BlackjackMinigame parent) {
-        this(value, suite, false, parent);
+    public static byte of(int value, Suite suite) {
+        return (byte) (suite.ordinal() << SUITE_SHIFT | value);
     }
 
-    public void render(SpriteBatch sb, Vector2 position)
-    {
-        sb.setColor(c);
-        if (isFaceDown) {
-            parent.drawTexture(sb, cardBack, position.x, position.y, 0, cardBack.getWidth(), cardBack.getHeight(), false, false);
-        } else {
-            parent.drawTexture(sb, t, position.x, position.y, 0, t.getWidth(), t.getHeight(), false, false);
-        }
+    public static int getValue(byte card) {
+        return card & VALUE_MASK;
+    }
+
+    public static Suite getSuite(byte card) {
+        return SUITES[(card >> SUITE_SHIFT) & 3];
+    }
+
+    public static boolean isAce(byte card) {
+        return getValue(card) == ACE;
+    }
+
+    public static boolean isFaceDown(byte card) {
+        return (card & FACE_DOWN) != 0;
     }
 
-    public void flipOver() {
-        isFaceDown = !isFaceDown;
+    public static byte flipOver(byte card) {
+        return (byte) (card ^ FACE_DOWN);
     }
 
-    public int getBlackjackValue() {
-        if (isAce) {
-            return 0;
+    //Aces count as ACE_LOW_VALUE here; Hand decides when one can count high.
+    public static int getBlackjackValue(byte card) {
+        int value = getValue(card);
+        if (value == ACE) {
+            return ACE_LOW_VALUE;
         }
         if (value <= 10){
             return value;
@@ -87,12 +69,59 @@ public class PokerCard {
         }
     }
 
-    public void dispose() {
-        t.dispose();
+    public static void render(BlackjackMinigame parent, SpriteBatch sb, byte card, float x, float y)
+    {
+        render(parent, sb, card, x, y, Color.WHITE);
+    }
+
+    public static void render(BlackjackMinigame parent, SpriteBatch sb, byte card, float x, float y, Color color)
+    {
+        TextureRegion t = isFaceDown(card) ? getCardBack() : getFace(card);
+        sb.setColor(color);
+        parent.drawRegion(sb, t, x, y, 0, t.getRegionWidth(), t.getRegionHeight(), false, false);
+    }
+
+    private static TextureRegion getFace(byte card) {
+        checkAtlas();
+        int index = card & ~FACE_DOWN;
+        if (faces[index] == null)
+            faces[index] = BlackjackMinigame.atlas.findRegion(getRegionName(getValue(card), getSuite(card)));
+        return faces[index];
+    }
+
+    private static TextureRegion getCardBack() {
+        checkAtlas();
+        if (cardBack == null)
+            cardBack = BlackjackMinigame.atlas.findRegion("cardBack_blue2");
+        return cardBack;
+    }
+
+    private static void checkAtlas() {
+        if (facesAtlas != BlackjackMinigame.atlas) {
+            facesAtlas = BlackjackMinigame.atlas;
+            for (int i = 0; i < faces.length; ++i)
+                faces[i] = null;
+            cardBack = null;
+        }
+    }
+
+    public static String getRegionName(int value, Suite suite) {
+        if (value <= 10) {
+            return "card" + suite.toString() + value;
+        }
+        switch (value) {
+            case 11:
+                return "card" + suite.toString() + "J";
+            case 12:
+                return "card" + suite.toString() + "Q";
+            case 13:
+                return "card" + suite.toString() + "K";
+            default:
+                return "card" + suite.toString() + "A";
+        }
     }
 
-    @Override
-    public String toString() {
-        return value + " of " + suite.toString();
+    public static String toString(byte card) {
+        return getValue(card) + " of " + getSuite(card).toString();
     }
 }
@@ -0,0 +1,33 @@
+package Minigames.games.blackjack;
+
+import java.util.Random;
+
+//Several decks dealt together. It's only reshuffled between rounds once the cut card has come out, so the penetration
+//(how much of the shoe is dealt before that) decides how many rounds one shuffle lasts.
+public class Shoe {
+    private final Deck deck;
+    private final int cutCard; //cards dealt before the shoe needs reshuffling
+    private final Random rng;
+
+    public Shoe(int decks, float penetration, Random rng) {
+        this.deck = new Deck(decks);
+        this.cutCard = Math.max(1, Math.min(deck.size(), (int) (deck.size() * penetration)));
+        this.rng = rng;
+    }
+
+    public void shuffle() {
+        deck.shuffle(rng);
+    }
+
+    //Call between rounds
+    public boolean needsShuffle() {
+        return deck.size() - deck.remaining() >= cutCard;
+    }
+
+    //Reshuffles mid-round if the shoe runs out completely, which only a small shoe with deep penetration can do.
+    public byte draw() {
+        if (deck.remaining() == 0)
+            shuffle();
+        return deck.draw();
+    }
+}
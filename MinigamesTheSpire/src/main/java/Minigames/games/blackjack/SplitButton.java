@@ -0,0 +1,32 @@
+package Minigames.games.blackjack;
+
+import Minigames.util.TextureLoader;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+
+import static Minigames.Minigames.makeGamePath;
+
+public class SplitButton extends BlackjackButton {
+    private static final Texture texture = TextureLoader.getTexture(makeGamePath("Blackjack/Cards/cardBack_red1.png"));
+
+    public SplitButton(float x, float y, BlackjackMinigame parent) {
+        super(x, y, texture, parent);
+        this.text = TEXT[12];
+    }
+
+    public void update() {
+        if (parent.canSplit()) {
+            super.update();
+            if (pressed) {
+                parent.playerSplit();
+                pressed = false;
+            }
+        }
+    }
+
+    public void render(SpriteBatch sb) {
+        if (parent.canSplit()) {
+            super.render(sb);
+        }
+    }
+}
@@ -2,12 +2,11 @@ package Minigames.games.blackjack;
 
 import Minigames.util.TextureLoader;
 import com.badlogic.gdx.graphics.Texture;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
 
 import static Minigames.Minigames.makeGamePath;
 
 public class StandButton extends BlackjackButton {
-    private static final Texture texture = ImageMaster.loadImage(makeGamePath("Blackjack/Cards/cardBack_green1.png"));
+    private static final Texture texture = TextureLoader.getTexture(makeGamePath("Blackjack/Cards/cardBack_green1.png"));
 
     public StandButton(float x, float y, BlackjackMinigame parent) {
         super(x, y, texture, parent);
@@ -17,7 +16,7 @@ public class StandButton extends BlackjackButton {
     public void update() {
         super.update();
         if (pressed) {
-            parent.startDealerTurn();
+            parent.playerStand();
             pressed = false;
         }
     }
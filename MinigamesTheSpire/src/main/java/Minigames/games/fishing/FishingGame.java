@@ -7,12 +7,14 @@ import Minigames.games.fishing.phases.AbstractGamePhase;
 import Minigames.games.fishing.phases.CatchPhase;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.input.bindings.MouseHoldObject;
+import Minigames.util.Headless;
 import Minigames.util.HelperClass;
 import Minigames.util.TextureLoader;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
@@ -22,6 +24,8 @@ import com.megacrit.cardcrawl.localization.EventStrings;
 import com.megacrit.cardcrawl.localization.UIStrings;
 import com.megacrit.cardcrawl.rooms.AbstractRoom;
 
+import java.util.ArrayList;
+
 import static Minigames.Minigames.makeID;
 
 public class FishingGame extends AbstractMinigame {
@@ -36,6 +40,8 @@ public class FishingGame extends AbstractMinigame {
     public static final UIStrings uiStrings = CardCrawlGame.languagePack.getUIString(Minigames.makeID("FishingText"));
     public static final EventStrings eventStrings = CardCrawlGame.languagePack.getEventString(Minigames.makeID("Fishing"));
 
+    public static final String ATLAS_PATH = Minigames.makeGamePath("Fishing/fishing.atlas");
+
     //SOUNDS
     public static final String sBob = makeID("sound_bob");
     public static final String sWaterPlop = makeID("sound_water_plop");
@@ -45,19 +51,30 @@ public class FishingGame extends AbstractMinigame {
     public static final String sLongReel = makeID("song_reel_long");
     public static final String sShortReel = makeID("song_reel_short");
 
+    private static final int TICKS_PER_SECOND = 120;
+
     public static final float timePlop = 0.875f, timeHit = 0.45f, timeSploosh = 0.87f, timeLReel = 1.5f, timeSReel = 1f, timeBob = 0.5f;
 
     public FishingGame() {
         super();
         hasInstructionScreen = true;
         hasPostgameScreen = false;
+        setFixedTimestep(TICKS_PER_SECOND, 8); //catcher gravity and bouncing shouldn't depend on frame rate
+    }
+
+    @Override
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        super.declareAssets(assets);
+        assets.add(TextureLoader.descriptor(Minigames.makeGamePath("Fishing/bg.png")));
+        assets.add(new AssetDescriptor<>(ATLAS_PATH, TextureAtlas.class));
     }
 
     @Override
     public void initialize() {
         super.initialize();
 
-        background = TextureLoader.getTexture(Minigames.makeGamePath("Fishing/bg.png"));
+        TextureLoader.release(background);
+        background = TextureLoader.acquire(Minigames.makeGamePath("Fishing/bg.png"));
 
         fish = AbstractFish.returnRandomFish();
 
@@ -81,11 +98,17 @@ public class FishingGame extends AbstractMinigame {
         return new FishingGame();
     }
 
-    private void doAction(Vector2 vec) {
+    private void doAction() {
         if(gamePhase != null)
             gamePhase.action();
     }
 
+    private boolean endAction() {
+        if(gamePhase != null)
+            gamePhase.endAction();
+        return false;
+    }
+
     @Override
     public void update(float elapsed) {
         super.update(elapsed);
@@ -94,19 +117,21 @@ public class FishingGame extends AbstractMinigame {
                 if(gamePhase == null) {
                     phase++;
                 } else {
-                    gamePhase.update();
+                    gamePhase.update(elapsed);
                 }
                 break;
             case 1:
                 //Do some transition effect, victory screen, idk
                 if(fishCaught) {
-                    CardCrawlGame.sound.play(sReward, 1f);
+                    HelperClass.playSound(sReward, 1f);
 
-                    AbstractDungeon.getCurrRoom().rewards = fish.returnReward();
-                    AbstractDungeon.getCurrRoom().phase = AbstractRoom.RoomPhase.COMPLETE;
-                    AbstractDungeon.combatRewardScreen.open(uiStrings.TEXT_DICT.get("WIN"));
+                    if (!Headless.enabled) {
+                        AbstractDungeon.getCurrRoom().rewards = fish.returnReward();
+                        AbstractDungeon.getCurrRoom().phase = AbstractRoom.RoomPhase.COMPLETE;
+                        AbstractDungeon.combatRewardScreen.open(uiStrings.TEXT_DICT.get("WIN"));
+                    }
                 } else {
-                    CardCrawlGame.sound.play("ENEMY_TURN", 1f);
+                    HelperClass.playSound("ENEMY_TURN", 1f);
                 }
                 phase = 2;
                 isDone = true;
@@ -114,15 +139,15 @@ public class FishingGame extends AbstractMinigame {
     }
 
     @Override
-    public void render(SpriteBatch sb) {
-        super.render(sb);
+    public void render(SpriteBatch sb, float alpha) {
+        super.render(sb, alpha);
         if(gamePhase != null)
-            gamePhase.render(sb);
+            gamePhase.render(sb, alpha);
     }
 
     //To be called by AbstractGamePhase once task is finished
-    public boolean waiting() {
-        waitTimer -= HelperClass.getTime();
+    public boolean waiting(float elapsed) {
+        waitTimer -= elapsed;
         if (waitTimer <= 0) {
             waitTimer = WAITTIME;
             return true;
@@ -141,7 +166,7 @@ public class FishingGame extends AbstractMinigame {
     protected BindingGroup getBindings() {
         BindingGroup bindings = new BindingGroup();
 
-        bindings.addMouseBind((x, y, pointer) -> this.isWithinArea(x, y), this::doAction, new MouseHoldObject((x, y) -> doAction(new Vector2(x, y)), null));
+        bindings.addMouseBind((x, y, pointer) -> this.isWithinArea(x, y), (x, y) -> doAction(), new MouseHoldObject((x, y) -> doAction(), (x, y) -> endAction()));
         //Add more bindings which basically do the same thing, maybe space?
 
         //DEBUG Bindings
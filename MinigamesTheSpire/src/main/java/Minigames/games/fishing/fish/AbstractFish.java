@@ -1,5 +1,6 @@
 package Minigames.games.fishing.fish;
 
+import Minigames.util.Headless;
 import Minigames.util.HelperClass;
 import com.badlogic.gdx.math.Interpolation;
 import com.badlogic.gdx.math.Vector2;
@@ -15,6 +16,7 @@ public abstract class AbstractFish {
     //How long the player has to be catching the fish (percentage of total game time)
     public float hp, mHp;
     public float y, initialY;
+    private float prevY; //y before the last update, for interpolation
 
     protected int nextBehavior = 0;
     //time taken so far
@@ -38,16 +40,17 @@ public abstract class AbstractFish {
         this(hp, ogBehavior, false);
     }
 
-    public void update(boolean inArea) {
+    public void update(boolean inArea, float elapsed) {
+        prevY = y;
         if(inArea) {
-            hp -= HelperClass.getTime();
+            hp -= elapsed;
             if(isCaught()) {
                 dispose();
                 return;
             }
         }
 
-        ttl += HelperClass.getTime();
+        ttl += elapsed;
         y = Interpolation.smoother.apply(initialY, currentBehavior.y, ttl / currentBehavior.x);
         //System.out.printf("Interpolation.smoother.apply(%f, %f, %f / %f) = %f%n", initialY, currentBehavior.y, ttl, currentBehavior.x, y);
 
@@ -78,6 +81,10 @@ public abstract class AbstractFish {
         currentBehavior = originBehavior.get(nextBehavior);
     }
 
+    public float getRenderY(float alpha) {
+        return Interpolation.linear.apply(prevY, y, alpha);
+    }
+
     public boolean isWithinY(float y1, float y2) {
         return y >= y1 && y <= y2;
     }
@@ -103,7 +110,9 @@ public abstract class AbstractFish {
                 new PotionFish()
                 ));
 
-        fishies.removeIf(f -> !f.canSpawn());
+        if (!Headless.enabled) { //spawn conditions look at the player's relics
+            fishies.removeIf(f -> !f.canSpawn());
+        }
         return HelperClass.getRandomItem(fishies, AbstractDungeon.miscRng);
     }
 }
@@ -18,12 +18,13 @@ public abstract class AbstractGamePhase {
 
     public void initialize() { }
 
-    public abstract void update(); //Should call kill when done
-    public abstract void render(SpriteBatch sb);
-    public abstract void action();
+    public abstract void update(float elapsed); //Should call kill when done
+    public abstract void render(SpriteBatch sb, float alpha); //alpha is FishingGame's interpolation alpha
+    public abstract void action(); //the mouse was pressed or dragged in the game area
+    public void endAction() { } //and released
 
-    protected void kill() {
-        if(parent.waiting()) {
+    protected void kill(float elapsed) {
+        if(parent.waiting(elapsed)) {
             if(nextGame != null)
                 nextGame.initialize();
             killAction();
@@ -1,16 +1,16 @@
 package Minigames.games.fishing.phases;
 
-import Minigames.Minigames;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.fishing.FishingGame;
 import Minigames.games.fishing.fish.AbstractFish;
+import Minigames.util.AssetPreloader;
 import Minigames.util.HelperClass;
-import Minigames.util.TextureLoader;
 import com.badlogic.gdx.graphics.Color;
-import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Interpolation;
-import com.megacrit.cardcrawl.core.CardCrawlGame;
+import com.badlogic.gdx.math.MathUtils;
 import com.megacrit.cardcrawl.helpers.ImageMaster;
 import org.apache.commons.lang3.math.NumberUtils;
 
@@ -23,19 +23,21 @@ public class CatchPhase extends AbstractGamePhase {
     private static final float FBAR_GROUND_OFFSET = 12f;
     private static final float INFORMATION_SOUND_TIME_OFFSET = 0.5f;
 
-    private static Texture imgBar;
+    private static TextureRegion imgBar;
     private static int bbw = 152, bbh = 600;
-    private static Texture imgCatcher;
+    private static TextureRegion imgCatcher;
     private static int cbw = 36, cbh = 124;
-    private static Texture imgFish; //Could be replaced with custom picture of fish
+    private static TextureRegion imgFish; //Could be replaced with custom picture of fish
     private static int fbw = 56, fbh = 53;
-    private static Texture imgCrank;
+    private static TextureRegion imgCrank;
     private static Color notCatchingColor = new Color(0.75f, 0.65f, 0.65f, 0.75f);
     private static Color catchingColor = new Color(0.75f, 0.85f, 0.75f, 1f);
 
     private float gameTime;
     private float spinnerAngle, speed, pos, maxPos;
+    private float prevPos; //pos before the last update, for interpolation
     private float bobTimer, reelTimer;
+    private boolean reeling; //held down between action and endAction, applied every tick in update
 
     private String timeString;
 
@@ -44,7 +46,7 @@ public class CatchPhase extends AbstractGamePhase {
     public CatchPhase(FishingGame parent, AbstractGamePhase next) {
         super(parent, next);
         maxPos = bbh - (cbh / 2f) - 100f;
-        pos = 0;
+        pos = prevPos = 0;
         fish = parent.fish;
         fish.scaleBehavior(GAME_TIME, maxPos + 100f);
         gameTime = GAME_TIME;
@@ -53,19 +55,24 @@ public class CatchPhase extends AbstractGamePhase {
 
     @Override
     public void initialize() {
-        imgBar = TextureLoader.getTexture(Minigames.makeGamePath("Fishing/FishingBar.png"));
-        imgCatcher = TextureLoader.getTexture(Minigames.makeGamePath("Fishing/FishCatcher.png"));
-        imgFish = TextureLoader.getTexture(Minigames.makeGamePath("Fishing/Fish.png"));
-        imgCrank = TextureLoader.getTexture(Minigames.makeGamePath("Fishing/Crank.png"));
+        TextureAtlas atlas = AssetPreloader.retain(FishingGame.ATLAS_PATH, TextureAtlas.class, null);
+        imgBar = atlas.findRegion("FishingBar");
+        imgCatcher = atlas.findRegion("FishCatcher");
+        imgFish = atlas.findRegion("Fish");
+        imgCrank = atlas.findRegion("Crank");
     }
 
     @Override
-    public void update() {
+    public void update(float elapsed) {
         if (!isDone && !waiting) {
-            float dt = HelperClass.getTime();
+            float dt = elapsed;
+            prevPos = pos;
 
             gameTime -= dt;
 
+            if (reeling)
+                reel(dt);
+
             // apply gravity, assuming negative velocity implies going down
             speed = Math.max(TERMINAL_VELOCITY, speed - GRAVITY_ACCEL * dt);
             pos += speed * dt;
@@ -84,14 +91,13 @@ public class CatchPhase extends AbstractGamePhase {
             }
 
             boolean fishBeingCaught = fish.isWithinY(pos, pos + cbh);
-            fish.update(fishBeingCaught);
+            fish.update(fishBeingCaught, dt);
             isDone = fish.isCaught() || gameTime <= 0;
             if (!isDone) {
-                float gt = HelperClass.getTime();
-                bobTimer -= gt;
-                reelTimer -= gt;
+                bobTimer -= dt;
+                reelTimer -= dt;
                 if (bobTimer <= 0) {
-                    CardCrawlGame.sound.play(fishBeingCaught ? FishingGame.sHit : FishingGame.sBob);
+                    HelperClass.playSound(fishBeingCaught ? FishingGame.sHit : FishingGame.sBob);
                     bobTimer = (fishBeingCaught ? FishingGame.timeHit : FishingGame.timeBob) + INFORMATION_SOUND_TIME_OFFSET;
                 }
             } else {
@@ -100,19 +106,20 @@ public class CatchPhase extends AbstractGamePhase {
 
                 if (fish.isCaught()) {
                     parent.fishCaught = true;
-                    CardCrawlGame.sound.play(FishingGame.sWaterSploosh);
+                    HelperClass.playSound(FishingGame.sWaterSploosh);
                 } else {
                     parent.fishCaught = false;
-                    CardCrawlGame.sound.play(FishingGame.sWaterPlop);
+                    HelperClass.playSound(FishingGame.sWaterPlop);
                 }
             }
         } else {
-            kill();
+            kill(elapsed);
         }
     }
 
     @Override
-    public void render(SpriteBatch sb) {
+    public void render(SpriteBatch sb, float alpha) {
+        float renderPos = MathUtils.lerp(prevPos, pos, alpha);
         float blBound = (-(AbstractMinigame.SIZE / 2f));
 
         //Render game time
@@ -131,10 +138,10 @@ public class CatchPhase extends AbstractGamePhase {
 
 
         //Render fishing bar
-        parent.drawTexture(sb, imgBar, blBound + (bbw / 2f), 0, 0, bbw, bbh, false, false);
+        parent.drawRegion(sb, imgBar, blBound + (bbw / 2f), 0, 0, bbw, bbh, false, false);
 
         //Render catcher area
-        parent.drawTexture(sb, imgCatcher, blBound + (bbw / 2f) + (cbw / 2f) - 8f, blBound + (AbstractMinigame.SIZE - bbh) + (cbh / 2f) + pos, 0, cbw, cbh, false, false);
+        parent.drawRegion(sb, imgCatcher, blBound + (bbw / 2f) + (cbw / 2f) - 8f, blBound + (AbstractMinigame.SIZE - bbh) + (cbh / 2f) + renderPos, 0, cbw, cbh, false, false);
 
         //Render fish catching progress
         if (fish.hp > fish.mHp * 0.66f) {
@@ -151,32 +158,39 @@ public class CatchPhase extends AbstractGamePhase {
         boolean catching = fish.isWithinY(pos, pos + cbh);
         Color fC = catching ? catchingColor : notCatchingColor;
         sb.setColor(fC);
-        parent.drawTexture(sb, imgFish, blBound + (bbw / 2f) + (fbw / 2f) - 20f + (catching? getFishShake() : 0), blBound + (AbstractMinigame.SIZE - bbh) + (fbh / 2f) + fish.y - FBAR_GROUND_OFFSET, 0, fbw, fbh, catching, false);
+        parent.drawRegion(sb, imgFish, blBound + (bbw / 2f) + (fbw / 2f) - 20f + (catching? getFishShake() : 0), blBound + (AbstractMinigame.SIZE - bbh) + (fbh / 2f) + fish.getRenderY(alpha) - FBAR_GROUND_OFFSET, 0, fbw, fbh, catching, false);
         sb.setColor(Color.WHITE);
 
         //Render Crank
-        parent.drawTexture(sb, imgCrank, 75, 0, spinnerAngle, 57, 58, false, false);
+        parent.drawRegion(sb, imgCrank, 75, 0, spinnerAngle, 57, 58, false, false);
     }
 
     @Override
     public void action() {
-        if (!isDone && !waiting) {
-            float dt = HelperClass.getTime();
-            //increase speed
-            speed += (PULL_ACCEL + GRAVITY_ACCEL) * dt;
-            float inc = 1.05f;
-            if (speed < 0)
-                inc -= 0.15f;
-            speed *= (float) Math.pow(inc, dt / (1f / 30f));
-
-            spinnerAngle += 5f;
-
-            //play sound
-            if (reelTimer <= 0) {
-                boolean fishBeingCaught = fish.isWithinY(pos, pos + cbh);
-                CardCrawlGame.sound.play(fishBeingCaught ? FishingGame.sLongReel : FishingGame.sShortReel);
-                reelTimer = fishBeingCaught ? FishingGame.timeLReel : FishingGame.timeSReel;
-            }
+        reeling = true;
+    }
+
+    @Override
+    public void endAction() {
+        reeling = false;
+    }
+
+    //One tick of holding the reel
+    private void reel(float dt) {
+        //increase speed
+        speed += (PULL_ACCEL + GRAVITY_ACCEL) * dt;
+        float inc = 1.05f;
+        if (speed < 0)
+            inc -= 0.15f;
+        speed *= (float) Math.pow(inc, dt / (1f / 30f));
+
+        spinnerAngle += 5f * dt * 60f; //5 degrees a frame at 60fps
+
+        //play sound
+        if (reelTimer <= 0) {
+            boolean fishBeingCaught = fish.isWithinY(pos, pos + cbh);
+            HelperClass.playSound(fishBeingCaught ? FishingGame.sLongReel : FishingGame.sShortReel);
+            reelTimer = fishBeingCaught ? FishingGame.timeLReel : FishingGame.timeSReel;
         }
     }
 
@@ -198,21 +212,18 @@ public class CatchPhase extends AbstractGamePhase {
 
     @Override
     protected void killAction() {
-        CardCrawlGame.sound.stop(FishingGame.sHit);
-        CardCrawlGame.sound.stop(FishingGame.sBob);
-        CardCrawlGame.sound.stop(FishingGame.sLongReel);
-        CardCrawlGame.sound.stop(FishingGame.sShortReel);
+        HelperClass.stopSound(FishingGame.sHit);
+        HelperClass.stopSound(FishingGame.sBob);
+        HelperClass.stopSound(FishingGame.sLongReel);
+        HelperClass.stopSound(FishingGame.sShortReel);
     }
 
     @Override
     public void dispose() {
-        imgBar.dispose();
+        AssetPreloader.release(FishingGame.ATLAS_PATH);
         imgBar = null;
-        imgCatcher.dispose();
         imgCatcher = null;
-        imgFish.dispose();
         imgFish = null;
-        imgCrank.dispose();
         imgCrank = null;
     }
 }
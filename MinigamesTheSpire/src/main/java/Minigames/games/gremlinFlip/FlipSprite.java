@@ -0,0 +1,43 @@
+package Minigames.games.gremlinFlip;
+
+import Minigames.util.AtlasLookup;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+
+//Every region of the Gremlin Flip atlas, resolved once when the atlas is loaded.
+public enum FlipSprite {
+    TILE("tile"),
+    INFO("info"),
+    NOB_FLAG("nob_flag"),
+    NOBBED("nobbed"),
+    GOLD_1("1"),
+    GOLD_2("2"),
+    GOLD_3("3");
+
+    private final String regionName;
+    private TextureAtlas.AtlasRegion region;
+
+    FlipSprite(String regionName) {
+        this.regionName = regionName;
+    }
+
+    public static void resolve(TextureAtlas atlas) {
+        for (FlipSprite sprite : values()) {
+            sprite.region = AtlasLookup.find(atlas, sprite.regionName);
+        }
+    }
+
+    public TextureAtlas.AtlasRegion region() {
+        return region;
+    }
+
+    public static FlipSprite gold(int goldAmount) {
+        switch (goldAmount) {
+            case 1:
+                return GOLD_1;
+            case 2:
+                return GOLD_2;
+            default:
+                return GOLD_3;
+        }
+    }
+}
@@ -20,8 +20,8 @@ import Minigames.games.gremlinFlip.tiles.AbstractTile;
 import Minigames.games.gremlinFlip.tiles.GameTile;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.mastermind.MastermindMinigame;
-import com.badlogic.gdx.Gdx;
-import com.badlogic.gdx.assets.AssetManager;
+import Minigames.util.AssetPreloader;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
@@ -44,7 +44,6 @@ public class gremlinFlip extends AbstractMinigame {
     private static final String[] OPTIONS = eventStrings.OPTIONS;
 
     public static final String ASSET_PATH = "minigamesResources/img/games/gremlinflip/gremlinFlip.atlas";
-    public static final AssetManager assetManager = new AssetManager();
     public static TextureAtlas atlas;
 
     protected static AbstractBoard board;
@@ -78,11 +77,10 @@ public class gremlinFlip extends AbstractMinigame {
     @Override
     public void initialize() {
         super.initialize();
-        if (!assetManager.isLoaded(ASSET_PATH)) {
-            assetManager.load(ASSET_PATH, TextureAtlas.class);
-            assetManager.finishLoadingAsset(ASSET_PATH);
+        if (atlas == null) {
+            atlas = AssetPreloader.retain(ASSET_PATH, TextureAtlas.class, null);
+            FlipSprite.resolve(atlas);
         }
-        atlas = assetManager.get(ASSET_PATH, TextureAtlas.class);
 
         locked = false;
         failedMinigame = false;
@@ -95,6 +93,14 @@ public class gremlinFlip extends AbstractMinigame {
         setScale(getMaxScale());
     }
 
+    @Override
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        super.declareAssets(assets);
+        if (atlas == null) {
+            assets.add(new AssetDescriptor<>(ASSET_PATH, TextureAtlas.class));
+        }
+    }
+
     @Override
     public String getOption() { return OPTIONS[13]; }
 
@@ -203,7 +209,7 @@ public class gremlinFlip extends AbstractMinigame {
                 break;
             case 1:
                 board.update();
-                countdown -= Gdx.graphics.getDeltaTime();
+                countdown -= elapsed;
                 if(countdown <= 0f){
                     if(finished) { phase = 2; }
                     AbstractTile currentTile = board.getTile(currentIndexPointer);
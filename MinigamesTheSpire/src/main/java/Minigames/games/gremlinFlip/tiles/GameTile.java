@@ -1,12 +1,13 @@
 package Minigames.games.gremlinFlip.tiles;
 
+import Minigames.games.gremlinFlip.FlipSprite;
 import Minigames.games.gremlinFlip.gremlinFlip;
+import Minigames.util.HelperClass;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.MathUtils;
-import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.helpers.input.InputHelper;
 
@@ -21,8 +22,8 @@ public class GameTile extends AbstractTile {
 
     public GameTile(int x, int y) {
         super(x, y);
-        tileTexture = gremlinFlip.atlas.findRegion("tile");
-        flaggedTexture = gremlinFlip.atlas.findRegion("nob_flag");
+        tileTexture = FlipSprite.TILE.region();
+        flaggedTexture = FlipSprite.NOB_FLAG.region();
     }
 
     public void render(SpriteBatch sb) {
@@ -71,19 +72,19 @@ public class GameTile extends AbstractTile {
     }
     public void setEnemy() {
         isEnemy = true;
-        flippedTexture = gremlinFlip.atlas.findRegion("nobbed");
+        flippedTexture = FlipSprite.NOBBED.region();
     }
     public void setGoldAmount(int goldAmount) {
         this.goldAmount = goldAmount;
-        flippedTexture = gremlinFlip.atlas.findRegion(String.valueOf(goldAmount));
+        flippedTexture = FlipSprite.gold(goldAmount).region();
     }
     public boolean isNoGoldSet(){ return goldAmount == 0; }
     public boolean isEnemy() { return isEnemy; }
     public boolean isFlipped() { return flipped; }
     private void playSfx() {
         int roll = MathUtils.random(2);
-        if (roll == 0) { CardCrawlGame.sound.play("VO_GREMLINNOB_1A");
-        } else if (roll == 1) { CardCrawlGame.sound.play("VO_GREMLINNOB_1B");
-        } else { CardCrawlGame.sound.play("VO_GREMLINNOB_1C"); }
+        if (roll == 0) { HelperClass.playSound("VO_GREMLINNOB_1A");
+        } else if (roll == 1) { HelperClass.playSound("VO_GREMLINNOB_1B");
+        } else { HelperClass.playSound("VO_GREMLINNOB_1C"); }
     }
 }
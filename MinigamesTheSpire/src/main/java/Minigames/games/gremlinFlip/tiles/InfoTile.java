@@ -1,6 +1,6 @@
 package Minigames.games.gremlinFlip.tiles;
 
-import Minigames.games.gremlinFlip.gremlinFlip;
+import Minigames.games.gremlinFlip.FlipSprite;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -17,7 +17,7 @@ public class InfoTile extends AbstractTile {
 
     public InfoTile(int x, int y) {
         super(x, y);
-        tileTexture = gremlinFlip.atlas.findRegion("info");
+        tileTexture = FlipSprite.INFO.region();
     }
 
     public void render(SpriteBatch sb){
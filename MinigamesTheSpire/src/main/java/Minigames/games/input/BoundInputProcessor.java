@@ -2,7 +2,10 @@ package Minigames.games.input;
 
 
 import Minigames.games.input.bindings.BindingGroup;
+import Minigames.util.AllocationMeter;
+import com.badlogic.gdx.Gdx;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
+import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.helpers.input.ScrollInputProcessor;
 
@@ -12,6 +15,8 @@ public class BoundInputProcessor extends ScrollInputProcessor {
     protected BindingGroup bindings = emptyBinding;
     public BindingGroup inactiveBindings = null;
 
+    private long clockOffset = Long.MAX_VALUE; //System.nanoTime() minus the backend's event time, the smallest seen
+
     public BoundInputProcessor()
     {
         super();
@@ -27,13 +32,28 @@ public class BoundInputProcessor extends ScrollInputProcessor {
             bindings = inactiveBindings;
             inactiveBindings = null;
         }
-        bindings.update(elapsed);
+
+        if (Settings.isDebug) {
+            long start = AllocationMeter.allocatedBytes();
+            bindings.update(elapsed);
+            AllocationMeter.check(start, "BindingGroup.update");
+        }
+        else {
+            bindings.update(elapsed);
+        }
     }
 
     @Override
     public boolean keyDown(int keycode) {
+        long eventTime = eventTime();
         boolean base = super.keyDown(keycode);
-        return bindings.receiveKeyDown(keycode) || base;
+        if (Settings.isDebug) {
+            long start = AllocationMeter.allocatedBytes();
+            boolean result = bindings.receiveKeyDown(keycode, eventTime);
+            AllocationMeter.check(start, "BindingGroup.receiveKeyDown");
+            return result || base;
+        }
+        return bindings.receiveKeyDown(keycode, eventTime) || base;
     }
 
     @Override
@@ -44,12 +64,13 @@ public class BoundInputProcessor extends ScrollInputProcessor {
 
     @Override
     public boolean touchDown(int screenX, int screenY, int pointer, int button) {
+        long eventTime = eventTime();
         super.touchDown(screenX, screenY, pointer, button);
 
         if (button != 0 && button != 1)
             return false; //i only care about left and right click.
 
-        return bindings.receiveTouchDown(screenX, screenY, button);
+        return bindings.receiveTouchDown(screenX, screenY, button, eventTime);
     }
 
     @Override
@@ -69,6 +90,22 @@ public class BoundInputProcessor extends ScrollInputProcessor {
         return bindings.receiveTouchDragged(screenX, screenY);
     }
 
+    //When the event being handled happened, in System.nanoTime().
+    //LWJGL2 polls input at the start of the frame, so the time the callback runs at is frame-quantized; the backend's
+    //timestamp is when the event actually arrived. That's on a different clock, so it's shifted by the smallest
+    //difference seen between the two so far (an event handled right away). Without timestamps, it's the current time.
+    private long eventTime() {
+        long now = System.nanoTime();
+        long backendTime = Gdx.input.getCurrentEventTime();
+        if (backendTime == 0)
+            return now;
+
+        long difference = now - backendTime;
+        if (difference < clockOffset)
+            clockOffset = difference;
+        return backendTime + clockOffset;
+    }
+
     public void bind(BindingGroup bindings) {
         if (inactiveBindings != null)
         {
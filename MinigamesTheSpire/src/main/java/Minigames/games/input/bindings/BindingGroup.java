@@ -1,6 +1,5 @@
 package Minigames.games.input.bindings;
 
-import Minigames.util.TriFunction;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.Input;
 import com.badlogic.gdx.math.Vector2;
@@ -15,17 +14,28 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class BindingGroup {
-    //Outer key: Modifier key state (ctrl = 1, shift = 2, alt = 4)
-    //Inner key: keycode
-    private final HashMap<Integer, HashMap<Integer, InputBinding>> keyInputs = new HashMap<>(); //used to quickly translate key input to the correct bindings
+    private static final int MODIFIER_STATES = 8; //ctrl = 1, shift = 2, alt = 4
+    private static final int KEY_COUNT = 256; //libGDX keycodes are all below this
+
+    //[modifier state][keycode], used to quickly translate key input to the correct bindings
+    private final InputBinding[][] keyInputs = new InputBinding[MODIFIER_STATES][KEY_COUNT];
 
     private final HashMap<String, InputBinding> allBindings = new HashMap<>();
 
-    private final HashMap<Integer, InputBinding> heldKeyInputs = new HashMap<>(); //currently held keys : binding linked to key
-    private final HashMap<InputBinding, Integer> activeBindings = new HashMap<>(); //currently active bindings : number of active inputs
+    private final InputBinding[] heldKeyInputs = new InputBinding[KEY_COUNT]; //currently held keys : binding linked to key
+    private final int[] heldKeys = new int[KEY_COUNT]; //the keycodes with an entry in heldKeyInputs, packed at the front
+    private final int[] heldKeyIndex = new int[KEY_COUNT]; //keycode : position in heldKeys
+    private int heldKeyCount = 0;
+    private int updateCount = 0;
 
     private final MouseHoldObject[] mouseHolds = new MouseHoldObject[2]; //left and right click
+    private final MouseRegionGrid[] holdGrids = new MouseRegionGrid[2]; //grid of the region that started each hold, null for mouse binds
+    private final Vector2 holdPosition = new Vector2(); //passed to holds from mouse binds, reused
     private final ArrayList<MouseInputInfo> mouseInputs = new ArrayList<>();
+    private final ArrayList<MouseRegionGrid> mouseRegions = new ArrayList<>();
+    private final Vector2 pressPosition = new Vector2(); //passed to Consumer<Vector2> mouse binds, reused for every click
+    private int mouseX, mouseY; //last touch position, converted by toGamePosition
+    private long eventTime; //System.nanoTime() when the key or click being handled arrived
 
     public void addBinding(InputBinding binding)
     {
@@ -34,17 +44,18 @@ public class BindingGroup {
 
     public void createInputMap()
     {
-        keyInputs.clear();
+        for (InputBinding[] modifierInputs : keyInputs)
+            Arrays.fill(modifierInputs, null);
+
         for (InputBinding binding : allBindings.values())
         {
             for (InputBinding.InputInfo i : binding.getInputs())
             {
-                int modifiers = i.getModifiers();
-                if (!keyInputs.containsKey(modifiers))
-                    keyInputs.put(modifiers, new HashMap<>());
-
-                keyInputs.get(modifiers).put(i.getCode(), binding);
+                if (i.getCode() >= 0 && i.getCode() < KEY_COUNT)
+                    keyInputs[i.getModifiers()][i.getCode()] = binding;
             }
+
+            binding.conflicts = binding.conflictingBindings.stream().map(allBindings::get).filter(Objects::nonNull).toArray(InputBinding[]::new);
         }
     }
 
@@ -101,13 +112,26 @@ public class BindingGroup {
     }
 
     //Parameters of the function are: x, y, button (0 = left click, 1 = right click), return value of boolean for whether or not this click is valid
-    public void addMouseBind(TriFunction<Integer, Integer, Integer, Boolean> isValidClick, Consumer<Vector2> onPress) {
+    //The Vector2 passed to onPress is reused for every click; copy it if you need to keep it.
+    public void addMouseBind(MouseCondition isValidClick, Consumer<Vector2> onPress) {
         mouseInputs.add(new MouseInputInfo(isValidClick, onPress));
     }
-    public void addMouseBind(TriFunction<Integer, Integer, Integer, Boolean> isValidClick, Consumer<Vector2> onPress, MouseHoldObject holdObject) {
+    public void addMouseBind(MouseCondition isValidClick, Consumer<Vector2> onPress, MouseHoldObject holdObject) {
+        mouseInputs.add(new MouseInputInfo(isValidClick, onPress, holdObject));
+    }
+    //Same as above, but the click position is passed as plain floats.
+    public void addMouseBind(MouseCondition isValidClick, MousePositionConsumer onPress) {
+        mouseInputs.add(new MouseInputInfo(isValidClick, onPress, null));
+    }
+    public void addMouseBind(MouseCondition isValidClick, MousePositionConsumer onPress, MouseHoldObject holdObject) {
         mouseInputs.add(new MouseInputInfo(isValidClick, onPress, holdObject));
     }
 
+    //Rectangle based mouse binds. Checked before the binds above, and cost the same no matter how many regions there are.
+    public void addMouseRegions(MouseRegionGrid regions) {
+        mouseRegions.add(regions);
+    }
+
     //more "convenient" methods
     public void bindDirectional(Runnable up, Runnable stopUp, Runnable down, Runnable stopDown, Runnable left, Runnable stopLeft, Runnable right, Runnable stopRight) {
         addBinding(InputBinding.create("Up", new InputBinding.InputInfo(Input.Keys.UP), new InputBinding.InputInfo(Input.Keys.W)).addConflicts("Down"));
@@ -159,115 +183,129 @@ public class BindingGroup {
     }
 
     public void clearInput() {
-        heldKeyInputs.clear();
-        activeBindings.clear();
-        mouseHolds[0] = null;
-        mouseHolds[1] = null;
+        for (int i = 0; i < heldKeyCount; ++i)
+        {
+            heldKeyInputs[heldKeys[i]].activeInputs = 0;
+            heldKeyInputs[heldKeys[i]] = null;
+        }
+        heldKeyCount = 0;
+        releaseMouse(0);
+        releaseMouse(1);
     }
 
+    //Ends a mouse hold without a touchUp event, so binds that latch state while held (like reeling) still see a release
+    private void releaseMouse(int button) {
+        if (mouseHolds[button] != null) {
+            MouseHoldObject hold = mouseHolds[button];
+            Vector2 position = getHoldPosition(button);
+            mouseHolds[button] = null;
+            hold.onRelease(position.x, position.y);
+        }
+    }
+
+    //Runs every frame, so it shouldn't allocate anything.
     public void update(float elapsed)
     {
         //Check currently held keys. If they are not held, release them.
         //This is due to keyUp events possibly being missed if something else consumes them, another layer is created, focus is lost, etc.
         //Many possibilities.
 
-        Iterator<Map.Entry<Integer, InputBinding>> inputIterator = heldKeyInputs.entrySet().iterator();
-        Map.Entry<Integer, InputBinding> next;
-        int heldCount = 0;
-
-        HashSet<InputBinding> stillHeldBindings = new HashSet<>();
+        ++updateCount;
 
-        while (inputIterator.hasNext())
+        //backwards, so a released key can be swapped out with the last one (which was already checked)
+        for (int i = heldKeyCount - 1; i >= 0; --i)
         {
-            next = inputIterator.next();
+            int keycode = heldKeys[i];
+            InputBinding binding = heldKeyInputs[keycode];
 
-            if (Gdx.input.isKeyPressed(next.getKey()))
+            if (Gdx.input.isKeyPressed(keycode))
             {
-                if (next.getValue().hasHold() && !stillHeldBindings.contains(next.getValue())) {
-                    next.getValue().getHold().update(elapsed);
+                if (binding.hasHold() && binding.lastHoldUpdate != updateCount) { //only once per binding, even if several of its keys are held
+                    binding.getHold().update(elapsed);
                 }
-                stillHeldBindings.add(next.getValue());
+                binding.lastHoldUpdate = updateCount;
             }
             else
             {
-                heldCount = activeBindings.get(next.getValue()) - 1;
-                if (heldCount == 0)
-                {
-                    if (next.getValue().hasRelease())
-                    {
-                        next.getValue().onRelease();
-                    }
-
-                    activeBindings.remove(next.getValue());
-                }
-                else
-                {
-                    activeBindings.put(next.getValue(), heldCount);
-                }
-                inputIterator.remove();
+                releaseKey(keycode);
             }
         }
 
-        if (mouseHolds[0] != null)
-            mouseHolds[0].update(elapsed);
+        //same for mouse buttons, 0 and 1 being Buttons.LEFT and RIGHT
+        for (int button = 0; button < 2; ++button)
+        {
+            if (mouseHolds[button] == null)
+                continue;
+            if (Gdx.input.isButtonPressed(button))
+                mouseHolds[button].update(elapsed);
+            else
+                releaseMouse(button);
+        }
+    }
+
+    //When the key or click currently being handled arrived, in System.nanoTime(). Lets binds that care about timing
+    //(rhythm games) work out when between two updates the input actually happened.
+    public long getEventTime()
+    {
+        return eventTime;
+    }
 
-        if (mouseHolds[1] != null)
-            mouseHolds[1].update(elapsed);
+    public boolean receiveKeyDown(int keycode, long eventTime)
+    {
+        this.eventTime = eventTime;
+        return receiveKeyDown(keycode);
     }
 
     public boolean receiveKeyDown(int keycode)
     {
-        HashMap<Integer, InputBinding> keyBindings = keyInputs.get(modifierState());
+        if (keycode < 0 || keycode >= KEY_COUNT)
+            return false;
 
-        if (keyBindings != null)
-        {
-            InputBinding binding = keyBindings.get(keycode);
+        InputBinding binding = keyInputs[modifierState()][keycode];
 
-            if (binding != null)
+        if (binding != null)
+        {
+            if (binding.activeInputs > 0)
             {
-                if (activeBindings.containsKey(binding))
-                {
-                    //already held down (probably using another supported key)
-                    activeBindings.compute(binding, (b, x)->x == null ? 1 : x + 1);
-                    heldKeyInputs.put(keycode, binding);
-                    return true;
-                }
-                else
-                {
-                    boolean result = binding.onDown();
+                //already held down (probably using another supported key)
+                holdKey(keycode, binding);
+                return true;
+            }
+            else
+            {
+                boolean result = binding.onDown();
 
-                    if (result)
+                if (result)
+                {
+                    if (binding.hasHold())
                     {
-                        if (binding.hasHold())
-                        {
-                            binding.getHold().reset();
+                        binding.getHold().reset();
 
-                            for (String ID : binding.conflictingBindings) //remove conflicting held keys
+                        for (InputBinding b : binding.conflicts) //remove conflicting held keys
+                        {
+                            if (b.activeInputs > 0)
                             {
-                                InputBinding b = allBindings.get(ID);
-                                if (b != null && activeBindings.containsKey(b))
+                                ArrayList<InputBinding.InputInfo> inputs = b.getInputs();
+                                for (int i = 0; i < inputs.size(); ++i)
                                 {
-                                    activeBindings.remove(b);
-
-                                    for (InputBinding.InputInfo inputInfo : b.getInputs())
-                                    {
-                                        heldKeyInputs.remove(inputInfo.getCode());
-                                    }
+                                    int code = inputs.get(i).getCode();
+                                    if (code >= 0 && code < KEY_COUNT && heldKeyInputs[code] == b)
+                                        removeHeldKey(code);
+                                }
+                                b.activeInputs = 0;
 
-                                    if (b.hasRelease())
-                                    {
-                                        b.onRelease();
-                                    }
+                                if (b.hasRelease())
+                                {
+                                    b.onRelease();
                                 }
                             }
                         }
-
-                        activeBindings.put(binding, 1);
-                        heldKeyInputs.put(keycode, binding);
                     }
 
-                    return result;
+                    holdKey(keycode, binding);
                 }
+
+                return result;
             }
         }
 
@@ -275,64 +313,119 @@ public class BindingGroup {
     }
     public boolean receiveKeyUp(int keycode)
     {
-        if (heldKeyInputs.containsKey(keycode))
+        if (keycode >= 0 && keycode < KEY_COUNT && heldKeyInputs[keycode] != null)
         {
-            InputBinding binding = heldKeyInputs.remove(keycode);
+            releaseKey(keycode);
+        }
+        return false;
+    }
 
-            int heldCount = activeBindings.get(binding) - 1;
-            if (heldCount == 0)
-            {
-                if (binding.hasRelease())
-                {
-                    binding.onRelease();
-                }
+    private void holdKey(int keycode, InputBinding binding)
+    {
+        if (heldKeyInputs[keycode] == binding)
+            return;
+        if (heldKeyInputs[keycode] != null)
+            releaseKey(keycode); //key now triggers a different binding (modifiers changed while it was held)
+
+        heldKeyInputs[keycode] = binding;
+        heldKeyIndex[keycode] = heldKeyCount;
+        heldKeys[heldKeyCount++] = keycode;
+        ++binding.activeInputs;
+    }
 
-                activeBindings.remove(binding);
-            }
-            else
+    //Removes a held key, and releases its binding if that was the last key holding it.
+    private void releaseKey(int keycode)
+    {
+        InputBinding binding = heldKeyInputs[keycode];
+        removeHeldKey(keycode);
+
+        if (--binding.activeInputs == 0)
+        {
+            if (binding.hasRelease())
             {
-                activeBindings.put(binding, heldCount);
+                binding.onRelease();
             }
         }
-        return false;
     }
 
+    private void removeHeldKey(int keycode)
+    {
+        int index = heldKeyIndex[keycode];
+        int last = heldKeys[--heldKeyCount];
+        heldKeys[index] = last;
+        heldKeyIndex[last] = index;
+        heldKeyInputs[keycode] = null;
+    }
 
-    public boolean receiveTouchDown(int screenX, int screenY, int button) {
-        int mX, mY;
 
+    //Converts a screen position to game coordinates, stored in mouseX and mouseY.
+    private void toGamePosition(int screenX, int screenY) {
         if (!Settings.isTouchScreen) {
-            mX = screenX;
-            if (mX > Settings.WIDTH) {
-                mX = Settings.WIDTH;
-            } else if (mX < 0) {
-                mX = 0;
+            mouseX = screenX;
+            if (mouseX > Settings.WIDTH) {
+                mouseX = Settings.WIDTH;
+            } else if (mouseX < 0) {
+                mouseX = 0;
             }
 
-            mY = Settings.HEIGHT - screenY;
-            if (mY > Settings.HEIGHT) {
-                mY = Settings.HEIGHT;
-            } else if (mY < 1) {
-                mY = 1;
+            mouseY = Settings.HEIGHT - screenY;
+            if (mouseY > Settings.HEIGHT) {
+                mouseY = Settings.HEIGHT;
+            } else if (mouseY < 1) {
+                mouseY = 1;
             }
         } else {
-            mX = screenX + Settings.VERT_LETTERBOX_AMT;
-            mY = Settings.HEIGHT - screenY + Settings.HORIZ_LETTERBOX_AMT;
-            if (mY < 1) {
-                mY = 1;
+            mouseX = screenX + Settings.VERT_LETTERBOX_AMT;
+            mouseY = Settings.HEIGHT - screenY + Settings.HORIZ_LETTERBOX_AMT;
+            if (mouseY < 1) {
+                mouseY = 1;
             }
         }
+    }
 
-        if (mouseHolds[button] != null) {
-            mouseHolds[button].onRelease(mX, mY);
-            mouseHolds[button] = null;
+    //The last touch position in the coordinates of the bind that started the hold, see MouseHoldObject
+    private Vector2 getHoldPosition(int button) {
+        MouseRegionGrid grid = holdGrids[button];
+        if (grid != null)
+            return grid.toRelative(mouseX, mouseY);
+        return holdPosition.set(mouseX, mouseY);
+    }
+
+    public boolean receiveTouchDown(int screenX, int screenY, int button, long eventTime) {
+        this.eventTime = eventTime;
+        return receiveTouchDown(screenX, screenY, button);
+    }
+
+    public boolean receiveTouchDown(int screenX, int screenY, int button) {
+        toGamePosition(screenX, screenY);
+
+        releaseMouse(button);
+
+        for (int i = 0; i < mouseRegions.size(); ++i)
+        {
+            MouseRegionGrid grid = mouseRegions.get(i);
+            MouseRegion region = grid.find(mouseX, mouseY, button);
+            if (region != null) {
+                Vector2 relative = grid.getRelativePosition();
+                region.onPress.accept(relative.x, relative.y);
+                mouseHolds[button] = region.holdObject;
+                holdGrids[button] = grid;
+                return true;
+            }
         }
 
-        for (MouseInputInfo info : mouseInputs)
+        for (int i = 0; i < mouseInputs.size(); ++i)
         {
-            if (info.condition.apply(mX, mY, button)) {
-                info.onPress.accept(new Vector2(mX, mY));
+            MouseInputInfo info = mouseInputs.get(i);
+            if (info.condition.test(mouseX, mouseY, button)) {
+                if (info.onPressAt != null) {
+                    info.onPressAt.accept(mouseX, mouseY);
+                }
+                else {
+                    info.onPress.accept(pressPosition.set(mouseX, mouseY));
+                }
                 mouseHolds[button] = info.holdObject;
+                holdGrids[button] = null;
                 return true;
             }
         }
@@ -343,31 +436,10 @@ public class BindingGroup {
     public boolean receiveTouchUp(int screenX, int screenY, int button) {
         if (mouseHolds[button] != null)
         {
-            int mX, mY;
-
-            if (!Settings.isTouchScreen) {
-                mX = screenX;
-                if (mX > Settings.WIDTH) {
-                    mX = Settings.WIDTH;
-                } else if (mX < 0) {
-                    mX = 0;
-                }
-
-                mY = Settings.HEIGHT - screenY;
-                if (mY > Settings.HEIGHT) {
-                    mY = Settings.HEIGHT;
-                } else if (mY < 1) {
-                    mY = 1;
-                }
-            } else {
-                mX = screenX + Settings.VERT_LETTERBOX_AMT;
-                mY = Settings.HEIGHT - screenY + Settings.HORIZ_LETTERBOX_AMT;
-                if (mY < 1) {
-                    mY = 1;
-                }
-            }
+            toGamePosition(screenX, screenY);
 
-            boolean consumed = mouseHolds[button].onRelease(mX, mY);
+            Vector2 position = getHoldPosition(button);
+            boolean consumed = mouseHolds[button].onRelease(position.x, position.y);
             mouseHolds[button] = null;
             return consumed;
         }
@@ -378,35 +450,17 @@ public class BindingGroup {
         boolean left = mouseHolds[0] != null, right = mouseHolds[1] != null;
         if (left || right)
         {
-            int mX, mY;
-
-            if (!Settings.isTouchScreen) {
-                mX = screenX;
-                if (mX > Settings.WIDTH) {
-                    mX = Settings.WIDTH;
-                } else if (mX < 0) {
-                    mX = 0;
-                }
+            toGamePosition(screenX, screenY);
 
-                mY = Settings.HEIGHT - screenY;
-                if (mY > Settings.HEIGHT) {
-                    mY = Settings.HEIGHT;
-                } else if (mY < 1) {
-                    mY = 1;
-                }
-            } else {
-                mX = screenX + Settings.VERT_LETTERBOX_AMT;
-                mY = Settings.HEIGHT - screenY + Settings.HORIZ_LETTERBOX_AMT;
-                if (mY < 1) {
-                    mY = 1;
-                }
+            if (left) {
+                Vector2 position = getHoldPosition(0);
+                mouseHolds[0].onDrag(position.x, position.y);
             }
 
-            if (left)
-                mouseHolds[0].onDrag(mX, mY);
-
-            if (right)
-                mouseHolds[1].onDrag(mX, mY);
+            if (right) {
+                Vector2 position = getHoldPosition(1);
+                mouseHolds[1].onDrag(position.x, position.y);
+            }
         }
         return false;
     }
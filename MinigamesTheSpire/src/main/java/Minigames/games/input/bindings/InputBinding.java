@@ -8,6 +8,11 @@ import java.util.function.BooleanSupplier;
 public class InputBinding {
     public ArrayList<String> conflictingBindings = new ArrayList<>();
 
+    //Maintained by the BindingGroup this binding belongs to, so input handling doesn't need maps keyed by binding.
+    InputBinding[] conflicts = new InputBinding[0]; //conflictingBindings, resolved in createInputMap
+    int activeInputs = 0; //number of held keys currently triggering this binding
+    int lastHoldUpdate = -1; //last BindingGroup update in which the hold was updated
+
     public static InputBinding create(String ID, InputInfo... input)
     {
         InputBinding binding = new InputBinding(ID);
@@ -0,0 +1,7 @@
+package Minigames.games.input.bindings;
+
+//Decides whether a click belongs to a mouse bind. Screen coordinates, button 0 = left click, 1 = right click.
+@FunctionalInterface
+public interface MouseCondition {
+    boolean test(int x, int y, int button);
+}
@@ -1,27 +1,26 @@
 package Minigames.games.input.bindings;
 
-import java.util.function.BiConsumer;
-import java.util.function.BiFunction;
-
+//Called while a mouse button that started a bind is held. Positions are in the same coordinates the bind's onPress got:
+//relative to the game for MouseRegionGrid regions, converted screen positions for BindingGroup.addMouseBind.
 public class MouseHoldObject {
-    private final BiFunction<Integer, Integer, Boolean> onRelease;
-    private final BiConsumer<Integer, Integer> onDrag;
+    private final MouseReleaseFunction onRelease;
+    private final MousePositionConsumer onDrag;
 
     //onRelease returns whether or not the touch release event should be consumed.
-    public MouseHoldObject(BiConsumer<Integer, Integer> onDrag, BiFunction<Integer, Integer, Boolean> onRelease)
+    public MouseHoldObject(MousePositionConsumer onDrag, MouseReleaseFunction onRelease)
     {
         this.onRelease = onRelease;
         this.onDrag = onDrag;
     }
 
-    public boolean onRelease(int x, int y)
+    public boolean onRelease(float x, float y)
     {
         if (onRelease != null)
             return onRelease.apply(x, y);
         return false;
     }
 
-    public void onDrag(int x, int y)
+    public void onDrag(float x, float y)
     {
         if (onDrag != null)
             onDrag.accept(x, y);
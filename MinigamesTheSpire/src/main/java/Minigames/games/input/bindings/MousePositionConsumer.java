@@ -0,0 +1,7 @@
+package Minigames.games.input.bindings;
+
+//Receives a mouse position without boxing it or wrapping it in a Vector2.
+@FunctionalInterface
+public interface MousePositionConsumer {
+    void accept(float x, float y);
+}
@@ -0,0 +1,23 @@
+package Minigames.games.input.bindings;
+
+class MouseRegion {
+    public final float minX, minY, maxX, maxY;
+    public final int button; //-1 for any button
+    public final MousePositionConsumer onPress;
+    public final MouseHoldObject holdObject;
+
+    public MouseRegion(float x, float y, float width, float height, int button, MousePositionConsumer onPress, MouseHoldObject holdObject) {
+        this.minX = x;
+        this.minY = y;
+        this.maxX = x + width;
+        this.maxY = y + height;
+        this.button = button;
+        this.onPress = onPress;
+        this.holdObject = holdObject;
+    }
+
+    public boolean contains(float x, float y, int button) {
+        return (this.button < 0 || this.button == button) &&
+                x >= minX && x < maxX && y >= minY && y < maxY;
+    }
+}
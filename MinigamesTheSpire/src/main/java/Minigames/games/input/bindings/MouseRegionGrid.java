@@ -0,0 +1,103 @@
+package Minigames.games.input.bindings;
+
+import Minigames.games.AbstractMinigame;
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.ArrayList;
+
+//Clickable rectangles inside a minigame's area, bucketed into a uniform grid so a click only tests the regions in its cell.
+//Regions use the same coordinates as the draw methods and getRelativeVector: relative to the center of the game, unscaled.
+//Add it to a BindingGroup with addMouseRegions. Regions are tested before the BindingGroup's other mouse binds.
+public class MouseRegionGrid {
+    private static final int CELL_SIZE = 64;
+    private static final int CELLS = AbstractMinigame.SIZE / CELL_SIZE; //per side
+
+    private final AbstractMinigame game;
+    private final ArrayList<MouseRegion> regions = new ArrayList<>();
+
+    //[cell] : indices of the regions overlapping it, in the order they were added
+    private final int[][] cells = new int[CELLS * CELLS][];
+    private final int[] cellCounts = new int[CELLS * CELLS];
+
+    private final Vector2 relative = new Vector2();
+
+    public MouseRegionGrid(AbstractMinigame game) {
+        this.game = game;
+    }
+
+    //onPress receives the click position relative to the game, and so do holdObject's drag and release. If regions
+    //overlap, the first one added is used.
+    public void add(float x, float y, float width, float height, MousePositionConsumer onPress) {
+        add(x, y, width, height, -1, onPress, null);
+    }
+    public void add(float x, float y, float width, float height, MousePositionConsumer onPress, MouseHoldObject holdObject) {
+        add(x, y, width, height, -1, onPress, holdObject);
+    }
+    //button: 0 = left click, 1 = right click, -1 = either
+    public void add(float x, float y, float width, float height, int button, MousePositionConsumer onPress, MouseHoldObject holdObject) {
+        int index = regions.size();
+        regions.add(new MouseRegion(x, y, width, height, button, onPress, holdObject));
+
+        int minCellX = toCell(x), maxCellX = toCell(x + width);
+        int minCellY = toCell(y), maxCellY = toCell(y + height);
+        for (int cellY = minCellY; cellY <= maxCellY; ++cellY) {
+            for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+                addToCell(cellY * CELLS + cellX, index);
+            }
+        }
+    }
+
+    public void clear() {
+        regions.clear();
+        for (int i = 0; i < cellCounts.length; ++i)
+            cellCounts[i] = 0;
+    }
+
+    //Takes the converted screen position passed to mouse binds. Returns null if no region was clicked.
+    MouseRegion find(int mouseX, int mouseY, int button) {
+        if (!game.isWithinArea(mouseX, mouseY))
+            return null;
+
+        game.getRelativeVector(mouseX, mouseY, relative);
+        int cell = toCell(relative.y) * CELLS + toCell(relative.x);
+        int[] indices = cells[cell];
+        for (int i = 0; i < cellCounts[cell]; ++i) {
+            MouseRegion region = regions.get(indices[i]);
+            if (region.contains(relative.x, relative.y, button))
+                return region;
+        }
+        return null;
+    }
+
+    //The position of the last click passed to find, relative to the game.
+    Vector2 getRelativePosition() {
+        return relative;
+    }
+
+    //Converts a position like find does, for holds started in a region. Overwrites getRelativePosition.
+    Vector2 toRelative(int mouseX, int mouseY) {
+        return game.getRelativeVector(mouseX, mouseY, relative);
+    }
+
+    private void addToCell(int cell, int index) {
+        int[] indices = cells[cell];
+        if (indices == null) {
+            indices = cells[cell] = new int[4];
+        }
+        else if (cellCounts[cell] == indices.length) {
+            int[] grown = new int[indices.length * 2];
+            System.arraycopy(indices, 0, grown, 0, indices.length);
+            indices = cells[cell] = grown;
+        }
+        indices[cellCounts[cell]++] = index;
+    }
+
+    private static int toCell(float relative) {
+        int cell = (int) Math.floor((relative + AbstractMinigame.SIZE / 2f) / CELL_SIZE);
+        if (cell < 0)
+            return 0;
+        if (cell >= CELLS)
+            return CELLS - 1;
+        return cell;
+    }
+}
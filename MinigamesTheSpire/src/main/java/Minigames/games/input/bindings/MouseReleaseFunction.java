@@ -0,0 +1,7 @@
+package Minigames.games.input.bindings;
+
+//Receives the position a mouse hold was released at, returns whether the release event should be consumed.
+@FunctionalInterface
+public interface MouseReleaseFunction {
+    boolean apply(float x, float y);
+}
@@ -1,13 +1,10 @@
 package Minigames.games.mastermind;
 
-import com.badlogic.gdx.graphics.Texture;
+import Minigames.games.input.bindings.MouseRegionGrid;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.megacrit.cardcrawl.helpers.Hitbox;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
-
-import static Minigames.Minigames.makeGamePath;
-import static Minigames.games.mastermind.MastermindMinigame.isClicked;
 
 public class CheckButton {
 
@@ -17,33 +14,28 @@ public class CheckButton {
     private final MastermindMinigame parent;
 
     public Vector2 position;
-    private Texture t;
+    private TextureRegion t;
     public Hitbox hb;
 
     public CheckButton(MastermindMinigame parent, int x, int y) {
         this.parent = parent;
         this.position = new Vector2(x, y);
 
-        this.t = ImageMaster.loadImage(makeGamePath("mastermind/button.png"));
+        this.t = MastermindMinigame.atlas.findRegion("button");
 
         this.hb = new Hitbox(position.x, position.y, WIDTH, HEIGTH);
     }
 
     public void render(SpriteBatch sb) {
         sb.setColor(1F, 1F, 1F, 1F);
-        parent.drawTexture(sb, t, position.x, position.y, WIDTH, HEIGTH, 0, 0, 0, t.getWidth(), t.getHeight(), false, false);
-    }
-
-    public void dispose() {
-        t.dispose();
+        parent.drawRegion(sb, t, position.x, position.y, WIDTH, HEIGTH, 0, 0, 0, t.getRegionWidth(), t.getRegionHeight(), false, false);
     }
 
     public void update(float elapsed) {
     }
 
-    public void doActionOnPress(Vector2 vector2) {
-        if (isClicked(hb, vector2)) {
-            parent.checkTheAnswer();
-        }
+    public void addMouseRegions(MouseRegionGrid regions) {
+        regions.add(hb.x, hb.y, hb.width, hb.height, 0, (x, y) -> parent.checkTheAnswer(), null);
+        regions.add(hb.x, hb.y, hb.width, hb.height, 1, (x, y) -> parent.showHint(), null); //right click for a hint
     }
 }
\ No newline at end of file
@@ -1,12 +1,11 @@
 package Minigames.games.mastermind;
 
-import com.badlogic.gdx.graphics.Texture;
+import Minigames.util.AtlasLookup;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.megacrit.cardcrawl.helpers.Hitbox;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
-
-import static Minigames.Minigames.makeGamePath;
 
 public class Marble {
 
@@ -21,13 +20,16 @@ public class Marble {
     public static final int HINT_WHITE = -3;
     public static final int HINT_NOTHING = -4;
 
+    //[value - HINT_NOTHING], looked up once per atlas in resolve
+    private static final TextureRegion[] regions = new TextureRegion[MastermindMinigame.NUMBER_OF_POSSIBLE_COLORS - HINT_NOTHING + 1];
+
     private final MastermindMinigame parent;
 
     public Vector2 position;
 
     public Vector2 dragPosition;
 
-    private Texture t;
+    private TextureRegion t;
 
     public Hitbox hb;
 
@@ -45,7 +47,7 @@ public class Marble {
         this.isHint = isHint;
         this.row = row;
 
-        this.t = getTexture();
+        this.t = getRegion();
 
         this.hb = new Hitbox(position.x, position.y, getSize(), getSize());
     }
@@ -60,17 +62,23 @@ public class Marble {
     }
 
     public void resetTexture() {
-        this.t = getTexture();
+        this.t = getRegion();
+    }
+
+    public static void resolve(TextureAtlas atlas) {
+        for (int i = 0; i < regions.length; i++) {
+            regions[i] = AtlasLookup.find(atlas, String.valueOf(i + HINT_NOTHING));
+        }
     }
 
-    private Texture getTexture() {
+    private TextureRegion getRegion() {
         int valueToRender = value == EMPTY ? (row == parent.getActiveRow() ? SELECTED_EMPTY : EMPTY) : value;
-        return ImageMaster.loadImage(makeGamePath("mastermind/" + valueToRender + ".png"));
+        return regions[valueToRender - HINT_NOTHING];
     }
 
     public void render(SpriteBatch sb) {
         sb.setColor(1F, 1F, 1F, 1F);
-        parent.drawTexture(sb, t, dragPosition != null ? dragPosition.x : position.x, dragPosition != null ? dragPosition.y : position.y, getSize(), getSize(), 0, 0, 0, t.getWidth(), t.getHeight(), false, false);
+        parent.drawRegion(sb, t, dragPosition != null ? dragPosition.x : position.x, dragPosition != null ? dragPosition.y : position.y, getSize(), getSize(), 0, 0, 0, t.getRegionWidth(), t.getRegionHeight(), false, false);
     }
 
     public int getBoxSize(){
@@ -81,10 +89,6 @@ public class Marble {
         return isHint ? HINT_SIZE : SIZE;
     }
 
-    public void dispose() {
-        t.dispose();
-    }
-
     public void update(float elapsed) {
 
     }
@@ -1,6 +1,7 @@
 package Minigames.games.mastermind;
 
 import Minigames.games.AbstractMinigame;
+import Minigames.games.input.bindings.MouseRegionGrid;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 
@@ -11,12 +12,14 @@ public class MarbleBoard {
 
     private Marble[][] marbles;
     private Marble[][] hints;
+    private final int[] rowCodes; //each row's marbles, packed (see MastermindCodes)
 
     private final MastermindMinigame parent;
 
     public MarbleBoard(MastermindMinigame parent) {
         this.parent = parent;
 
+        rowCodes = new int[NUMBER_OF_ROWS];
         marbles = new Marble[NUMBER_OF_ROWS][NUMBER_OF_COLUMNS];
         hints = new Marble[NUMBER_OF_ROWS][NUMBER_OF_COLUMNS];
         for (int i = 0; i < NUMBER_OF_ROWS; i++) {
@@ -43,20 +46,18 @@ public class MarbleBoard {
         }
     }
 
-    public void dispose() {
+    //clicking a marble in the active row clears it
+    public void addMouseRegions(MouseRegionGrid regions) {
         for (int i = 0; i < NUMBER_OF_ROWS; i++) {
             for (int j = 0; j < NUMBER_OF_COLUMNS; j++) {
-                marbles[i][j].dispose();
-                hints[i][j].dispose();
-            }
-        }
-    }
-
-    public void doActionOnPress(Vector2 vector2) {
-        int activeRow = parent.getActiveRow();
-        for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
-            if(isClicked(marbles[activeRow][i].hb, vector2)) {
-                marbles[activeRow][i].updateValueAndResetTexture(EMPTY);
+                final int row = i;
+                final int column = j;
+                Marble marble = marbles[i][j];
+                regions.add(marble.hb.x, marble.hb.y, marble.hb.width, marble.hb.height, 0, (x, y) -> {
+                    if (row == parent.getActiveRow()) {
+                        setValue(row, column, EMPTY);
+                    }
+                }, null);
             }
         }
     }
@@ -73,15 +74,31 @@ public class MarbleBoard {
     public void updateValue(Marble activeMarble, Vector2 vector2) {
         for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
             if (isClicked(marbles[parent.getActiveRow()][i].hb, vector2)) {
-                marbles[parent.getActiveRow()][i].updateValueAndResetTexture(activeMarble.getValue());
+                setValue(parent.getActiveRow(), i, activeMarble.getValue());
             }
         }
     }
 
+    private void setValue(int row, int column, int value) {
+        marbles[row][column].updateValueAndResetTexture(value);
+        rowCodes[row] = parent.getCodes().setDigit(rowCodes[row], column, value);
+    }
+
+    //Fills a row in with a packed code
+    public void setRow(int row, int code) {
+        for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
+            setValue(row, i, parent.getCodes().getDigit(code, i));
+        }
+    }
+
     public Marble[][] getMarbles() {
         return marbles;
     }
 
+    public int getRowCode(int row) {
+        return rowCodes[row];
+    }
+
     public void updateHints(int numberOfBlack, int numberOfWhite) {
         int activeRow = parent.getActiveRow();
         for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
@@ -1,13 +1,14 @@
 package Minigames.games.mastermind;
 
 import Minigames.games.AbstractMinigame;
+import Minigames.games.input.bindings.MouseHoldObject;
+import Minigames.games.input.bindings.MouseRegionGrid;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.math.Vector2;
 
 import static Minigames.games.mastermind.Marble.BOX_SIZE;
 import static Minigames.games.mastermind.Marble.MARGIN;
 import static Minigames.games.mastermind.MastermindMinigame.NUMBER_OF_POSSIBLE_COLORS;
-import static Minigames.games.mastermind.MastermindMinigame.isClicked;
 
 public class MarbleControllers {
 
@@ -16,7 +17,8 @@ public class MarbleControllers {
     private final MastermindMinigame parent;
 
     private Marble activeMarble;
-    private Vector2 startingVector;
+    private final Vector2 startingVector = new Vector2();
+    private final Vector2 dragPosition = new Vector2(); //only one marble is dragged at a time, so they can share this
 
     public MarbleControllers(MastermindMinigame parent) {
         this.parent = parent;
@@ -27,7 +29,6 @@ public class MarbleControllers {
         }
 
         activeMarble = null;
-        startingVector = null;
     }
 
     public void render(SpriteBatch sb) {
@@ -36,30 +37,25 @@ public class MarbleControllers {
         }
     }
 
-    public void dispose() {
-        for (int i = 0; i < NUMBER_OF_POSSIBLE_COLORS; i++) {
-            marbles[i].dispose();
-        }
-    }
-
     public void update(float elapsed) {
         for (int i = 0; i < NUMBER_OF_POSSIBLE_COLORS; i++) {
             marbles[i].update(elapsed);
         }
     }
 
-    public void doActionOnPress(Vector2 vector2) {
-        for (int i = 0; i < NUMBER_OF_POSSIBLE_COLORS; i++) {
-            if (isClicked(marbles[i].hb, vector2)) {
-                activeMarble = marbles[i];
-                startingVector = new Vector2(vector2);
-            }
+    //dragHold should forward drags and releases to doActionOnDrag and doActionOnRelease
+    public void addMouseRegions(MouseRegionGrid regions, MouseHoldObject dragHold) {
+        for (Marble marble : marbles) {
+            regions.add(marble.hb.x, marble.hb.y, marble.hb.width, marble.hb.height, 0, (x, y) -> {
+                activeMarble = marble;
+                startingVector.set(x, y);
+            }, dragHold);
         }
     }
 
     public void doActionOnDrag(Vector2 vector2) {
         if (activeMarble != null) {
-            activeMarble.dragPosition = new Vector2(activeMarble.position.x + vector2.x - startingVector.x, activeMarble.position.y + vector2.y - startingVector.y);
+            activeMarble.dragPosition = dragPosition.set(activeMarble.position.x + vector2.x - startingVector.x, activeMarble.position.y + vector2.y - startingVector.y);
         }
     }
 
@@ -69,7 +65,6 @@ public class MarbleControllers {
             activeMarble.dragPosition = null;
         }
         activeMarble = null;
-        startingVector = null;
     }
 
 }
\ No newline at end of file
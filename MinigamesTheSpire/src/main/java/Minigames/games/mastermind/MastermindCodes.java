@@ -0,0 +1,252 @@
+package Minigames.games.mastermind;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static Minigames.games.mastermind.Marble.EMPTY;
+
+// Rows of marbles packed into an int: one base (colors + 1) digit per column, column 0 lowest, with EMPTY (0) for an
+// empty slot. Codes for a board size are 0 to size - 1, so they can index arrays directly.
+//
+// Scores (black and white pegs) are packed into a byte as black * (columns + 1) + white. They're worked out in O(columns)
+// using the answer's color histogram, or looked up in a table when there are few enough full codes for one. The table
+// only has full codes against full codes, since answers are always full; guesses with empty slots are scored directly.
+// It's built on another thread while a game uses it and dropped when the last game using it is done (see
+// buildTableAsync and releaseTable).
+
+public class MastermindCodes {
+    public static final Logger logger = LogManager.getLogger(MastermindCodes.class.getName());
+
+    private static final long MAX_TABLE_SIZE = 1 << 23; //bytes, 6^4 squared for the default board is about 1.7M
+    private static final HashMap<Long, MastermindCodes> boards = new HashMap<>();
+
+    public final int columns;
+    public final int colors;
+    public final int base;
+    public final int size; //number of codes, including ones with empty slots
+    private final int[] powers;
+
+    private volatile byte[] table; //[answer index * full codes + guess index], indexes into getFullCodes()
+    private boolean tableStarted;
+    private int tableUsers;
+    private int[] fullCodes;
+    private int[] fullIndex; //index of each code in fullCodes, -1 if it has empty slots
+
+    private MastermindCodes(int columns, int colors) {
+        this.columns = columns;
+        this.colors = colors;
+        this.base = colors + 1;
+
+        powers = new int[columns + 1];
+        powers[0] = 1;
+        for (int i = 1; i <= columns; i++) {
+            if ((long) powers[i - 1] * base > Integer.MAX_VALUE)
+                throw new IllegalArgumentException(columns + " columns of " + colors + " colors don't fit in an int");
+            powers[i] = powers[i - 1] * base;
+        }
+        size = powers[columns];
+    }
+
+    //Shared, so games on the same board size share one table
+    public static synchronized MastermindCodes get(int columns, int colors) {
+        return boards.computeIfAbsent(((long) columns << 32) | colors, k -> new MastermindCodes(columns, colors));
+    }
+
+    public int getDigit(int code, int column) {
+        return (code / powers[column]) % base;
+    }
+
+    public int setDigit(int code, int column, int value) {
+        return code + (value - getDigit(code, column)) * powers[column];
+    }
+
+    public boolean isFull(int code) {
+        for (int i = 0; i < columns; i++) {
+            if (getDigit(code, i) == EMPTY)
+                return false;
+        }
+        return true;
+    }
+
+    //Every code without empty slots, in order. Made the first time it's asked for.
+    public synchronized int[] getFullCodes() {
+        if (fullCodes == null) {
+            int count = 1;
+            for (int i = 0; i < columns; i++)
+                count *= colors;
+            fullCodes = new int[count];
+            fullIndex = new int[size];
+            int n = 0;
+            for (int code = 0; code < size; code++) {
+                if (isFull(code)) {
+                    fullIndex[code] = n;
+                    fullCodes[n++] = code;
+                } else {
+                    fullIndex[code] = -1;
+                }
+            }
+        }
+        return fullCodes;
+    }
+
+    //How many of each color the code has, indexed by color
+    public int[] histogram(int code) {
+        int[] counts = new int[base];
+        for (int i = 0; i < columns; i++) {
+            counts[getDigit(code, i)]++;
+        }
+        counts[EMPTY] = 0;
+        return counts;
+    }
+
+    /**
+     * Scores a guess in O(columns).
+     *
+     * @param answerCounts - histogram(answer), worked out once per answer
+     * @param scratch - at least base long and all zeroes; left that way
+     */
+    public byte score(int guess, int answer, int[] answerCounts, int[] scratch) {
+        int black = 0;
+        int matched = 0; //black and white
+        int g = guess, a = answer;
+        for (int i = 0; i < columns; i++) {
+            int guessColor = g % base;
+            if (guessColor != EMPTY) {
+                if (guessColor == a % base)
+                    black++;
+                if (scratch[guessColor]++ < answerCounts[guessColor])
+                    matched++;
+            }
+            g /= base;
+            a /= base;
+        }
+
+        g = guess;
+        for (int i = 0; i < columns; i++) {
+            scratch[g % base] = 0;
+            g /= base;
+        }
+        return packScore(black, matched - black);
+    }
+
+    //The same, from the table if it's ready
+    public byte lookupScore(int guess, int answer, int[] answerCounts, int[] scratch) {
+        byte[] scores = table;
+        if (scores != null && fullIndex[guess] >= 0)
+            return scores[fullIndex[answer] * fullCodes.length + fullIndex[guess]];
+        return score(guess, answer, answerCounts, scratch);
+    }
+
+    //Scores a guess in O(columns) without the answer's histogram, for when there are too many answers to keep them all.
+    //scratch is the same as above.
+    public byte score(int guess, int answer, int[] scratch) {
+        int black = 0;
+        int white = 0;
+        int g = guess, a = answer;
+        for (int i = 0; i < columns; i++) {
+            int guessColor = g % base;
+            int answerColor = a % base;
+            if (guessColor != EMPTY && guessColor == answerColor) {
+                black++;
+            } else {
+                //positive counts are unmatched answer colors, negative ones unmatched guess colors
+                if (answerColor != EMPTY && scratch[answerColor]++ < 0)
+                    white++;
+                if (guessColor != EMPTY && scratch[guessColor]-- > 0)
+                    white++;
+            }
+            g /= base;
+            a /= base;
+        }
+
+        g = guess;
+        a = answer;
+        for (int i = 0; i < columns; i++) {
+            scratch[g % base] = 0;
+            scratch[a % base] = 0;
+            g /= base;
+            a /= base;
+        }
+        return packScore(black, white);
+    }
+
+    public byte lookupScore(int guess, int answer, int[] scratch) {
+        byte[] scores = table;
+        if (scores != null && fullIndex[guess] >= 0)
+            return scores[fullIndex[answer] * fullCodes.length + fullIndex[guess]];
+        return score(guess, answer, scratch);
+    }
+
+    //Scores go from 0 to this - 1
+    public int scoreCount() {
+        return (columns + 1) * (columns + 1);
+    }
+
+    public byte packScore(int black, int white) {
+        return (byte) (black * (columns + 1) + white);
+    }
+
+    public int getBlack(byte score) {
+        return score / (columns + 1);
+    }
+
+    public int getWhite(byte score) {
+        return score % (columns + 1);
+    }
+
+    public boolean canHaveTable() {
+        long count = getFullCodes().length;
+        return count * count <= MAX_TABLE_SIZE;
+    }
+
+    //null until it's built
+    public byte[] getTable() {
+        return table;
+    }
+
+    //Starts building the table on another thread, if the board is small enough and nobody has yet. Every call needs a
+    //releaseTable once the game is done with it.
+    public synchronized void buildTableAsync() {
+        tableUsers++;
+        if (tableStarted || !canHaveTable())
+            return;
+        tableStarted = true;
+
+        CompletableFuture.runAsync(this::buildTable);
+    }
+
+    //Drops the table once no game is using it; lookups go back to scoring directly
+    public synchronized void releaseTable() {
+        if (tableUsers > 0 && --tableUsers == 0 && table != null) {
+            table = null;
+            tableStarted = false;
+        }
+    }
+
+    private void buildTable() {
+        long start = System.nanoTime();
+        int[] full = getFullCodes();
+        int count = full.length;
+        byte[] scores = new byte[count * count];
+        IntStream.range(0, count).parallel().forEach(a -> {
+            int answer = full[a];
+            int[] answerCounts = histogram(answer);
+            int[] scratch = new int[base];
+            int row = a * count;
+            for (int g = 0; g < count; g++) {
+                scores[row + g] = score(full[g], answer, answerCounts, scratch);
+            }
+        });
+        synchronized (this) {
+            if (tableUsers > 0)
+                table = scores;
+            else //released while it was being built
+                tableStarted = false;
+        }
+        logger.info("Built the " + columns + "x" + colors + " Mastermind score table in " + (System.nanoTime() - start) / 1_000_000 + "ms");
+    }
+}
@@ -3,20 +3,27 @@ package Minigames.games.mastermind;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.input.bindings.MouseHoldObject;
+import Minigames.games.input.bindings.MouseRegionGrid;
+import Minigames.util.AssetPreloader;
+import Minigames.util.TextureLoader;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
 import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.core.Settings;
 import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
 import com.megacrit.cardcrawl.events.GenericEventDialog;
 import com.megacrit.cardcrawl.helpers.Hitbox;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
 import com.megacrit.cardcrawl.localization.EventStrings;
 import com.megacrit.cardcrawl.localization.UIStrings;
 import com.megacrit.cardcrawl.relics.AbstractRelic;
 import com.megacrit.cardcrawl.relics.BagOfMarbles;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ThreadLocalRandom;
 
 import static Minigames.Minigames.*;
@@ -30,43 +37,91 @@ public class MastermindMinigame extends AbstractMinigame {
     public static final int NUMBER_OF_ROWS = 8;
     public static final int NUMBER_OF_COLUMNS = 4;
     public static final int NUMBER_OF_POSSIBLE_COLORS = 6;
+    public static final int MAX_HINTS = 2;
+    public static final int HINTED_GOLD = 50; //the reward instead of a relic when a hint was used
 
     private MarbleBoard marbleBoard;
     private MarbleControllers marbleControllers;
     private CheckButton checkButton;
 
+    private MouseRegionGrid mouseRegions;
+    private final Vector2 relativeMouse = new Vector2(); //reused for every mouse event
+    private static final Hitbox mouseClickHitbox = new Hitbox(0, 0);
+
     private int activeRow;
-    private int[] answer;
+    private final MastermindCodes codes = MastermindCodes.get(NUMBER_OF_COLUMNS, NUMBER_OF_POSSIBLE_COLORS);
+    private int answer; //packed, see MastermindCodes
+    private int[] answerCounts;
+    private final int[] scoreScratch = new int[NUMBER_OF_POSSIBLE_COLORS + 1];
+
+    //hints and grading run off the render thread, one after another
+    private MastermindSolver solver;
+    private CompletableFuture<Void> solverWork;
+    private volatile long pendingHint; //(row << 32) | packed hint, -1 if there's none to show
+    private int hintRow; //row the last hint was asked for
+    private int hintsUsed;
+    private final int[] rowHints = new int[NUMBER_OF_ROWS]; //packed hint shown in each row, 0 if none
+    private float grade; //sum of solver.grade over the checked rows the player filled in themselves
+    private int gradedRows;
 
     //background
     private static final int BG_SIZE = 648;
     private Texture background;
 
+    //marbles and check button
+    public static final String ATLAS_PATH = makeGamePath("mastermind/marbles.atlas");
+    public static TextureAtlas atlas;
+
     private boolean won;
 
     public MastermindMinigame() {
         super();
     }
 
+    @Override
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        super.declareAssets(assets);
+        assets.add(TextureLoader.descriptor(makeGamePath("mastermind/background.png")));
+        assets.add(new AssetDescriptor<>(ATLAS_PATH, TextureAtlas.class));
+    }
+
     @Override
     public void initialize() {
         super.initialize();
         won = false;
-        background = ImageMaster.loadImage(makeGamePath("mastermind/background.png"));
+        codes.buildTableAsync(); //ready long before the first row is filled in
+        solver = new MastermindSolver(codes);
+        solverWork = CompletableFuture.completedFuture(null);
+        pendingHint = -1;
+        hintRow = -1;
+        hintsUsed = 0;
+        Arrays.fill(rowHints, 0);
+        grade = 0;
+        gradedRows = 0;
+        background = TextureLoader.acquire(makeGamePath("mastermind/background.png"));
+        atlas = AssetPreloader.retain(ATLAS_PATH, TextureAtlas.class, null);
+        Marble.resolve(atlas);
         activeRow = 0;
         marbleBoard = new MarbleBoard(this);
         marbleControllers = new MarbleControllers(this);
         checkButton = new CheckButton(this,
                 -AbstractMinigame.SIZE / 2 + NUMBER_OF_POSSIBLE_COLORS * BOX_SIZE + 2 * MARGIN,
                 -AbstractMinigame.SIZE / 2 + MARGIN);
+
+        mouseRegions.clear();
+        marbleControllers.addMouseRegions(mouseRegions,
+                new MouseHoldObject((x, y) -> doActionOnDrag(relativeMouse.set(x, y)), ((x, y) -> doActionOnRelease(relativeMouse.set(x, y)))));
+        marbleBoard.addMouseRegions(mouseRegions);
+        checkButton.addMouseRegions(mouseRegions);
         randomizeAnswer();
     }
 
     private void randomizeAnswer() {
-        answer = new int[NUMBER_OF_COLUMNS];
+        answer = 0;
         for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
-            answer[i] = (ThreadLocalRandom.current().nextInt(NUMBER_OF_POSSIBLE_COLORS)) + 1;
+            answer = codes.setDigit(answer, i, (ThreadLocalRandom.current().nextInt(NUMBER_OF_POSSIBLE_COLORS)) + 1);
         }
+        answerCounts = codes.histogram(answer);
     }
 
     @Override
@@ -74,6 +129,16 @@ public class MastermindMinigame extends AbstractMinigame {
         super.update(elapsed);
         switch (phase) {
             case 0:
+                long pending = pendingHint;
+                if (pending != -1) {
+                    pendingHint = -1;
+                    int hint = (int) pending;
+                    if ((int) (pending >>> 32) == activeRow && hint != -1) { //dropped if the row was checked meanwhile
+                        marbleBoard.setRow(activeRow, hint);
+                        rowHints[activeRow] = hint;
+                        hintsUsed++; //only counted once shown
+                    }
+                }
                 marbleBoard.update(elapsed);
                 marbleControllers.update(elapsed);
                 break;
@@ -105,27 +170,22 @@ public class MastermindMinigame extends AbstractMinigame {
     public void dispose() {
         super.dispose();
 
-        marbleBoard.dispose();
-        marbleControllers.dispose();
-        checkButton.dispose();
+        TextureLoader.release(background);
+        AssetPreloader.release(ATLAS_PATH);
+        codes.releaseTable();
     }
 
     @Override
     protected BindingGroup getBindings() {
         BindingGroup bindings = new BindingGroup();
 
-        bindings.addMouseBind((x, y, pointer) -> this.isWithinArea(x, y) && pointer == 0, v2 -> doActionOnPress(getRelativeVector(v2)),
-                new MouseHoldObject((x, y) -> doActionOnDrag(getRelativeVector(new Vector2(x, y))), ((x, y) -> doActionOnRelease(getRelativeVector(new Vector2(x, y))))));
+        //filled in initialize, once the board exists
+        mouseRegions = new MouseRegionGrid(this);
+        bindings.addMouseRegions(mouseRegions);
 
         return bindings;
     }
 
-    private void doActionOnPress(Vector2 vector2) {
-        marbleControllers.doActionOnPress(vector2);
-        marbleBoard.doActionOnPress(vector2);
-        checkButton.doActionOnPress(vector2);
-    }
-
     private void doActionOnDrag(Vector2 vector2) {
         marbleControllers.doActionOnDrag(vector2);
     }
@@ -143,47 +203,65 @@ public class MastermindMinigame extends AbstractMinigame {
         return activeRow;
     }
 
+    public MastermindCodes getCodes() {
+        return codes;
+    }
+
+    //The solver's next guess, filled into the active row when it's ready. One per row, up to MAX_HINTS shown.
+    public void showHint() {
+        if (phase != 0 || hintsUsed >= MAX_HINTS || hintRow == activeRow)
+            return;
+        hintRow = activeRow;
+        long row = (long) activeRow << 32;
+        runSolver(() -> pendingHint = row | (solver.hint() & 0xFFFFFFFFL));
+    }
+
+    public int getHintsUsed() {
+        return hintsUsed;
+    }
+
+    //How well the player guessed, from 0 to 1: 1 if every row was as good as the hint would have been. Rows checked as
+    //a hint filled them in aren't graded. Waits for the solver, so not for the render thread.
+    public float getEfficiency() {
+        solverWork.join();
+        return efficiency();
+    }
+
+    //Only once solverWork is done
+    private float efficiency() {
+        return gradedRows == 0 ? 1 : grade / gradedRows;
+    }
+
+    private void runSolver(Runnable task) {
+        solverWork = solverWork.thenRunAsync(task).exceptionally(e -> {
+            logger.error("[Mastermind] - solver failed", e);
+            return null;
+        });
+    }
+
     public static boolean isClicked(Hitbox hb, Vector2 v2) {
-        Hitbox mouseClickHitbox = new Hitbox(0, 0);
         mouseClickHitbox.move(v2.x, v2.y);
         return hb.intersects(mouseClickHitbox);
     }
 
     public void checkTheAnswer() {
-        Marble[][] marbles = marbleBoard.getMarbles();
-
-        boolean allEmpty = true;
-        for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
-            if (marbles[activeRow][i].getValue() != EMPTY) {
-                allEmpty = false;
-            }
-        }
-        if (allEmpty) {
+        int guess = marbleBoard.getRowCode(activeRow);
+        if (guess == 0) {
             logger.warn("[Mastermind] - not checking the answer, because it's fully empty.");
             return;
         }
 
-        int numberOfBlack = 0;
-        int numberOfBlackAndWhite = 0;
-        for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
-            if (marbles[activeRow][i].getValue() == answer[i]) {
-                numberOfBlack++;
-            }
-        }
-        for (int color = 1; color <= NUMBER_OF_POSSIBLE_COLORS; color++) {
-            int inAnswer = 0;
-            int inGuess = 0;
-            for (int i = 0; i < NUMBER_OF_COLUMNS; i++) {
-                if (answer[i] == color) {
-                    inAnswer++;
-                }
-                if (marbles[activeRow][i].getValue() == color) {
-                    inGuess++;
-                }
+        byte score = codes.lookupScore(guess, answer, answerCounts, scoreScratch);
+        boolean hinted = guess == rowHints[activeRow];
+        runSolver(() -> {
+            if (!hinted) {
+                grade += solver.grade(guess);
+                gradedRows++;
             }
-            numberOfBlackAndWhite += Math.min(inAnswer, inGuess);
-        }
-        int numberOfWhite = numberOfBlackAndWhite - numberOfBlack;
+            solver.addRow(guess, score);
+        });
+        int numberOfBlack = codes.getBlack(score);
+        int numberOfWhite = codes.getWhite(score);
 
         marbleBoard.updateHints(numberOfBlack, numberOfWhite);
         activeRow++;
@@ -191,11 +269,15 @@ public class MastermindMinigame extends AbstractMinigame {
         if (numberOfBlack == NUMBER_OF_COLUMNS) {
             won = true;
             phase = 1;
+            int rows = activeRow, hints = hintsUsed;
+            solverWork.thenRun(() -> logger.info("[Mastermind] - solved in " + rows + " rows with " + hints + " hints, efficiency " + efficiency()));
             return;
         }
         if (activeRow == NUMBER_OF_ROWS) {
             phase = 1;
             activeRow = 0;
+            int hints = hintsUsed;
+            solverWork.thenRun(() -> logger.info("[Mastermind] - not solved with " + hints + " hints, efficiency " + efficiency()));
             return;
         }
     }
@@ -210,10 +292,14 @@ public class MastermindMinigame extends AbstractMinigame {
     }
 
     public void setupPostgameScreen(GenericEventDialog event) {
-        if (won) {
+        if (won && hintsUsed == 0) {
             event.updateBodyText(eventStrings.DESCRIPTIONS[1]);
             event.setDialogOption(eventStrings.OPTIONS[2]);
             event.setDialogOption(eventStrings.OPTIONS[3]);
+        } else if (won) {
+            event.updateBodyText(eventStrings.DESCRIPTIONS[3]);
+            event.setDialogOption(String.format(eventStrings.OPTIONS[4], HINTED_GOLD));
+            event.setDialogOption(eventStrings.OPTIONS[3]);
         } else {
             event.updateBodyText(eventStrings.DESCRIPTIONS[2]);
             event.setDialogOption(eventStrings.OPTIONS[3]);
@@ -222,7 +308,9 @@ public class MastermindMinigame extends AbstractMinigame {
 
     public boolean postgameButtonPressed(int buttonIndex) {
         if (won) {
-            if (buttonIndex == 0) {
+            if (buttonIndex == 0 && hintsUsed > 0) {
+                AbstractDungeon.player.gainGold(HINTED_GOLD);
+            } else if (buttonIndex == 0) {
                 AbstractRelic relic = AbstractDungeon.returnRandomScreenlessRelic(AbstractDungeon.returnRandomRelicTier());
                 AbstractDungeon.getCurrRoom().spawnRelicAndObtain(Settings.WIDTH / 2f, Settings.HEIGHT / 2f, relic);
             }
@@ -0,0 +1,145 @@
+package Minigames.games.mastermind;
+
+import java.util.BitSet;
+import java.util.stream.IntStream;
+
+// Suggests guesses with Knuth's minimax: every possible guess splits the codes still consistent with the rows so far by
+// the score it would get, and the best guess is the one whose biggest group is smallest. Candidates are a bitset over
+// MastermindCodes.getFullCodes(), filtered as rows are checked; guesses are scored against them with the score table when
+// it's ready, and evaluated in parallel.
+//
+// Every board starts with the same first guess (Knuth's 1122, widened to the board), so the biggest search is skipped.
+// After that, big boards have too many codes to try every guess against every candidate, so past a budget of scores the
+// guesses are an even sample of the candidates instead. The budget is smaller without the table, where scores are slower.
+//
+// Also grades guesses: how close a guess's biggest group is to the best guess's, so how well a player solved the puzzle
+// can be measured.
+//
+// Not thread safe. It's slow enough to keep off the render thread, so MastermindMinigame runs it one call at a time on
+// another thread.
+
+public class MastermindSolver {
+    private static final long MAX_WORK = 1 << 22; //scores per hint, about 10ms on one core with the table
+    private static final long MAX_WORK_NO_TABLE = 1 << 19; //about 100ms on one core
+
+    private final MastermindCodes codes;
+    private final int[] fullCodes;
+    private final BitSet candidates;
+    private int candidateCount;
+    private int rows = 0;
+
+    public MastermindSolver(MastermindCodes codes) {
+        this.codes = codes;
+        this.fullCodes = codes.getFullCodes();
+        this.candidates = new BitSet(fullCodes.length);
+        candidates.set(0, fullCodes.length);
+        candidateCount = fullCodes.length;
+    }
+
+    //Drops the candidates that wouldn't have given this score. The guess can have empty slots.
+    public void addRow(int guess, byte score) {
+        int[] scratch = new int[codes.base];
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            if (codes.lookupScore(guess, fullCodes[i], scratch) != score) {
+                candidates.clear(i);
+                candidateCount--;
+            }
+        }
+        rows++;
+    }
+
+    public int getCandidateCount() {
+        return candidateCount;
+    }
+
+    //The best next guess, packed, or -1 if no code fits the rows so far.
+    public int hint() {
+        if (candidateCount == 0)
+            return -1;
+        if (candidateCount <= 2) //either one is as good as any other guess
+            return fullCodes[candidates.nextSetBit(0)];
+        if (rows == 0)
+            return firstGuess();
+        return fullCodes[(int) (search() & Integer.MAX_VALUE)];
+    }
+
+    /**
+     * How good a guess is, made before its row is added: the best guess's biggest group over this guess's, so 1 for a
+     * guess as good as the hint.
+     */
+    public float grade(int guess) {
+        int best;
+        if (candidateCount <= 1)
+            return 1;
+        else if (candidateCount == 2)
+            best = 1;
+        else if (rows == 0)
+            best = worstCase(firstGuess(), new int[codes.scoreCount()], new int[codes.base]);
+        else
+            best = (int) (search() >>> 32);
+        //sampled searches can miss the best guess, so a guess can beat them
+        return Math.min(1, best / (float) worstCase(guess, new int[codes.scoreCount()], new int[codes.base]));
+    }
+
+    //Knuth's 1122, widened to the board: pairs of colors
+    private int firstGuess() {
+        int code = 0;
+        for (int i = 0; i < codes.columns; i++) {
+            code = codes.setDigit(code, i, (i / 2) % codes.colors + 1);
+        }
+        return code;
+    }
+
+    //The best guess as (biggest group << 32) | (not a candidate << 31) | index in fullCodes, so the smallest is the best:
+    //smallest biggest group, then one that could be the answer, then the lowest code.
+    private long search() {
+        long budget = codes.getTable() != null ? MAX_WORK : MAX_WORK_NO_TABLE;
+        int[] guesses;
+        if ((long) fullCodes.length * candidateCount <= budget) {
+            guesses = new int[fullCodes.length];
+            for (int i = 0; i < guesses.length; i++)
+                guesses[i] = i;
+        } else {
+            int count = (int) Math.max(1, Math.min(candidateCount, budget / candidateCount));
+            guesses = new int[count];
+            int n = 0;
+            int candidate = 0;
+            for (int i = candidates.nextSetBit(0); i >= 0 && n < count; i = candidates.nextSetBit(i + 1), candidate++) {
+                if (candidate == (int) ((long) n * candidateCount / count)) //spread evenly over the candidates
+                    guesses[n++] = i;
+            }
+        }
+
+        int[] candidateCodes = new int[candidateCount];
+        int n = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1))
+            candidateCodes[n++] = fullCodes[i];
+
+        final int[] pool = guesses;
+        return IntStream.range(0, pool.length).parallel().mapToLong(g -> {
+            int index = pool[g];
+            int worst = worstCase(fullCodes[index], candidateCodes, new int[codes.scoreCount()], new int[codes.base]);
+            return ((long) worst << 32) | (candidates.get(index) ? 0 : 1L << 31) | index;
+        }).min().getAsLong();
+    }
+
+    private int worstCase(int guess, int[] groups, int[] scratch) {
+        int worst = 0;
+        for (int i = candidates.nextSetBit(0); i >= 0; i = candidates.nextSetBit(i + 1)) {
+            int size = ++groups[codes.lookupScore(guess, fullCodes[i], scratch)];
+            if (size > worst)
+                worst = size;
+        }
+        return worst;
+    }
+
+    private int worstCase(int guess, int[] candidateCodes, int[] groups, int[] scratch) {
+        int worst = 0;
+        for (int candidate : candidateCodes) {
+            int size = ++groups[codes.lookupScore(guess, candidate, scratch)];
+            if (size > worst)
+                worst = size;
+        }
+        return worst;
+    }
+}
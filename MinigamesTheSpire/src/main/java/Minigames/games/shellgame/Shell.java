@@ -2,7 +2,6 @@ package Minigames.games.shellgame;
 
 import Minigames.games.AbstractMinigame;
 import Minigames.util.TextureLoader;
-import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -56,34 +55,35 @@ public class Shell {
 
     public animPhase currentPhase = animPhase.NONE;
 
-    public Shell(AbstractMinigame parent, float x, float y, AbstractCard held) {
+    //An empty shell
+    Shell(AbstractMinigame parent, float x, float y) {
         this.parent = parent;
         this.x = x;
         this.y = y;
-        this.hb = new Hitbox(x - (shellTex.getWidth() / 2F), y - (shellTex.getHeight() / 2F), shellTex.getWidth(), shellTex.getHeight());
+        //no textures when running headless
+        float width = shellTex == null ? 0 : shellTex.getWidth();
+        float height = shellTex == null ? 0 : shellTex.getHeight();
+        this.hb = new Hitbox(x - (width / 2F), y - (height / 2F), width, height);
+
+        currentPhase = animPhase.NONE;
+
+        shellOffsetX = width * -0.5F;
+    }
+
+    public Shell(AbstractMinigame parent, float x, float y, AbstractCard held) {
+        this(parent, x, y);
         this.heldCard = held;
         heldCard.current_x = heldCard.target_x = Settings.WIDTH / 2F;
         heldCard.current_y = heldCard.target_y = Settings.HEIGHT / 2F;
         heldCard.drawScale = heldCard.targetDrawScale = 1.33F;
         heldCard.targetTransparency = heldCard.transparency = 1F;
-
-        currentPhase = animPhase.NONE;
-
-        shellOffsetX = shellTex.getWidth() * -0.5F;
     }
 
     public Shell(AbstractMinigame parent, float x, float y, AbstractRelic held) {
-        this.parent = parent;
-        this.x = x;
-        this.y = y;
-        this.hb = new Hitbox(x - (shellTex.getWidth() / 2F), y - (shellTex.getHeight() / 2F), shellTex.getWidth(), shellTex.getHeight());
+        this(parent, x, y);
         this.heldRelic = held;
         heldRelic.currentX = heldRelic.targetX = Settings.WIDTH / 2F;
         heldRelic.currentY = heldRelic.targetY = Settings.HEIGHT / 2F;
-
-        currentPhase = animPhase.NONE;
-
-        shellOffsetX = shellTex.getWidth() * -0.5F;
     }
 
     public void grantReward() {
@@ -265,7 +265,7 @@ public class Shell {
             }
             case SHELLOUTRO: {
                 if (moveTimerY < startMoveTimerY) {
-                    moveTimerY += Gdx.graphics.getDeltaTime();
+                    moveTimerY += elapsed;
                     shellOffsetY = MathUtils.lerp(0F, ShellGame.offscreenShellHeight, moveTimerY / startMoveTimerY);
                     // alpha = MathUtils.lerp(targetAlpha, startAlpha, moveTimerY / startMoveTimerY);
                 }
@@ -3,7 +3,7 @@ package Minigames.games.shellgame;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.mastermind.MastermindMinigame;
-import com.badlogic.gdx.Gdx;
+import Minigames.util.HelperClass;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.megacrit.cardcrawl.cards.AbstractCard;
@@ -223,6 +223,29 @@ public class ShellGame extends AbstractMinigame {
         currentSwaps = 0;
     }
 
+    //Starts the swaps straight away with empty shells, skipping the rewards: creating cards and relics needs the full
+    //game. For the benchmarks (see Headless).
+    void initializeSwaps(int swaps) {
+        super.initialize();
+
+        shell1 = new Shell(this, xpos1, yMid);
+        shell2 = new Shell(this, xpos2, yMid);
+        shell3 = new Shell(this, xpos3, yMid);
+        shellsToRender.clear();
+        shellsToRender.add(shell1);
+        shellsToRender.add(shell2);
+        shellsToRender.add(shell3);
+
+        totalSwaps = swaps;
+        currentSwaps = 0;
+        timeModifier = 1F;
+        timeToBeginNextSwap = 1F;
+        listenForSwap = false;
+        timer = 0F;
+        phase = 2;
+        subPhase = 0;
+    }
+
 
     private void onClick() {
         switch (phase) {
@@ -237,19 +260,19 @@ public class ShellGame extends AbstractMinigame {
 
                 switch (chosen) {
                     case 1:
-                        CardCrawlGame.sound.playAV("SHOP_PURCHASE", .1F, 2F);
+                        HelperClass.playSoundAV("SHOP_PURCHASE", .1F, 2F);
                         shell1.currentPhase = Shell.animPhase.SHELLOUTRO;
                         shell1.startMoveTimerY = 0.5F;
                         shell1.moveTimerY = 0F;
                         break;
                     case 2:
-                        CardCrawlGame.sound.playAV("SHOP_PURCHASE", .1F, 2F);
+                        HelperClass.playSoundAV("SHOP_PURCHASE", .1F, 2F);
                         shell2.currentPhase = Shell.animPhase.SHELLOUTRO;
                         shell2.startMoveTimerY = 0.5F;
                         shell2.moveTimerY = 0F;
                         break;
                     case 3:
-                        CardCrawlGame.sound.playA("INTIMIDATE", .1F);
+                        HelperClass.playSoundA("INTIMIDATE", .1F);
                         shell3.currentPhase = Shell.animPhase.SHELLOUTRO;
                         shell3.startMoveTimerY = 0.5F;
                         shell3.moveTimerY = 0F;
@@ -279,7 +302,7 @@ public class ShellGame extends AbstractMinigame {
                     switch (subPhase) {
                         case 0: {
                             shell1.currentPhase = Shell.animPhase.REWARDINTRO;
-                            CardCrawlGame.sound.playAV("HEAL_1", -.2F, 2F);
+                            HelperClass.playSoundAV("HEAL_1", -.2F, 2F);
                             shell1.moveTimer = 0F;
                             shell1.startMoveTimer = .5F;
                             shell1.targetX = xpos1;
@@ -290,7 +313,7 @@ public class ShellGame extends AbstractMinigame {
                         case 1: {
                             //Shell 3 second, since the right one needs to animate first or it will be covered by the middle's anim
                             shell3.currentPhase = Shell.animPhase.REWARDINTRO;
-                            CardCrawlGame.sound.playAV("HEAL_2", -.2F, 2F);
+                            HelperClass.playSoundAV("HEAL_2", -.2F, 2F);
                             shell3.moveTimer = 0F;
                             shell3.startMoveTimer = .5F;
                             shell3.targetX = xpos3;
@@ -300,7 +323,7 @@ public class ShellGame extends AbstractMinigame {
                         }
                         case 2: {
                             shell2.currentPhase = Shell.animPhase.REWARDINTRO;
-                            CardCrawlGame.sound.playAV("HEAL_3", -.2F, 2F);
+                            HelperClass.playSoundAV("HEAL_3", -.2F, 2F);
                             shell2.moveTimer = 0F;
                             shell2.startMoveTimer = .5F;
                             shell2.targetX = xpos2;
@@ -324,7 +347,7 @@ public class ShellGame extends AbstractMinigame {
                     switch (subPhase) {
                         case 0: {
                             shell1.currentPhase = Shell.animPhase.SHELLINTRO;
-                            CardCrawlGame.sound.playAV("BLOCK_GAIN_1", .15F, .4F);
+                            HelperClass.playSoundAV("BLOCK_GAIN_1", .15F, .4F);
                             //shell1.targetY = yMid;
                             shell1.moveTimerY = 0F;
                             shell1.startMoveTimerY = 0.5F;  //Time it takes for the Shell to drop in
@@ -334,7 +357,7 @@ public class ShellGame extends AbstractMinigame {
                         }
                         case 1: {
                             shell2.currentPhase = Shell.animPhase.SHELLINTRO;
-                            CardCrawlGame.sound.playAV("BLOCK_GAIN_2", .15F, .4F);
+                            HelperClass.playSoundAV("BLOCK_GAIN_2", .15F, .4F);
                             //shell2.targetY = yMid;
                             shell2.moveTimerY = 0F;
                             shell2.startMoveTimerY = 0.5F;  //Time it takes for the Shell to drop in
@@ -344,7 +367,7 @@ public class ShellGame extends AbstractMinigame {
                         }
                         case 2: {
                             shell3.currentPhase = Shell.animPhase.SHELLINTRO;
-                            CardCrawlGame.sound.playAV("BLOCK_GAIN_3", .15F, .4F);
+                            HelperClass.playSoundAV("BLOCK_GAIN_3", .15F, .4F);
                             //shell3.targetY = yMid;
                             shell3.moveTimerY = 0F;
                             shell3.startMoveTimerY = 0.5F;  //Time it takes for the Shell to drop in
@@ -381,7 +404,7 @@ public class ShellGame extends AbstractMinigame {
                         shell3.setEnclosedLocations();
                         timeModifier = 1F;  //Reset time modifier back to normal so the timers aren't still going at lightning speed
                     } else if (timeToBeginNextSwap > 0F) {
-                        timeToBeginNextSwap -= Gdx.graphics.getDeltaTime() * timeModifier;
+                        timeToBeginNextSwap -= elapsed * timeModifier;
                         if (timeToBeginNextSwap <= 0F) {
                             decideSwap();
                         }
@@ -509,7 +532,7 @@ public class ShellGame extends AbstractMinigame {
     }
 
     public void phase5Settings() {
-        CardCrawlGame.sound.playAV("CARD_POWER_WOOSH", .8F, 5F);
+        HelperClass.playSoundAV("CARD_POWER_WOOSH", .8F, 5F);
         if (subPhase == 0) {
             subPhase = 1;
             timer = 0.25F;
@@ -540,7 +563,7 @@ public class ShellGame extends AbstractMinigame {
         }
 
 
-        CardCrawlGame.sound.playA("ATTACK_WHIFF_1", .3F * (timeModifier / 5F));
+        HelperClass.playSoundA("ATTACK_WHIFF_1", .3F * (timeModifier / 5F));
 
     }
 
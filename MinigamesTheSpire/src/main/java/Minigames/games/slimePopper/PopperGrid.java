@@ -0,0 +1,104 @@
+package Minigames.games.slimePopper;
+
+//Uniform grid over the play area, rebuilt every tick, so collision checks only compare items in neighbouring cells.
+//Cells are at least as large as the collision distance, so any colliding pair is in the same or adjacent cells.
+class PopperGrid {
+    interface PairHandler {
+        void collide(int a, int b); //slots in the PopperStore
+    }
+
+    private final float originX, originY, cellSize;
+    private final int columns, rows;
+
+    private final int[] cellStart; //[cell] : first index in sorted of the items in that cell, cellStart[cell + 1] is the end
+    private int[] itemCell = new int[64]; //[item] : cell the item is in
+    private int[] sorted = new int[64]; //item indices, grouped by cell
+
+    PopperGrid(float minX, float minY, float width, float height, float cellSize) {
+        this.originX = minX;
+        this.originY = minY;
+        this.cellSize = cellSize;
+        this.columns = Math.max(1, (int) Math.ceil(width / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil(height / cellSize));
+        this.cellStart = new int[columns * rows + 1];
+    }
+
+    //Counting sort of the items by cell.
+    void build(PopperStore store) {
+        int count = store.count;
+        if (itemCell.length < count) {
+            int size = Math.max(count, itemCell.length * 2);
+            itemCell = new int[size];
+            sorted = new int[size];
+        }
+
+        for (int i = 0; i < cellStart.length; ++i)
+            cellStart[i] = 0;
+
+        for (int i = 0; i < count; ++i) {
+            int cell = row(store.y[i] + PopperItem.SIZE / 2f) * columns + column(store.x[i] + PopperItem.SIZE / 2f);
+            itemCell[i] = cell;
+            ++cellStart[cell + 1];
+        }
+        for (int cell = 0; cell < columns * rows; ++cell)
+            cellStart[cell + 1] += cellStart[cell];
+
+        //cellStart[cell] is used as the insertion point and ends up at the start of the next cell, then shifted back
+        for (int i = 0; i < count; ++i)
+            sorted[cellStart[itemCell[i]]++] = i;
+        for (int cell = columns * rows; cell > 0; --cell)
+            cellStart[cell] = cellStart[cell - 1];
+        cellStart[0] = 0;
+    }
+
+    //Calls the handler once for every pair of items whose centers are closer than distance. Call build first.
+    //Comparing corners is the same as comparing centers, since all items are the same size.
+    void forEachPair(PopperStore store, float distance, PairHandler handler) {
+        float distance2 = distance * distance;
+        for (int row = 0; row < rows; ++row) {
+            for (int column = 0; column < columns; ++column) {
+                int cell = row * columns + column;
+                for (int i = cellStart[cell]; i < cellStart[cell + 1]; ++i) {
+                    int a = sorted[i];
+
+                    //rest of this cell, then the neighbours ahead of it, so every pair is only visited once
+                    pairsInCell(store, a, i + 1, cellStart[cell + 1], distance2, handler);
+                    if (column + 1 < columns)
+                        pairsInCell(store, a, cell + 1, distance2, handler);
+                    if (row + 1 < rows) {
+                        if (column > 0)
+                            pairsInCell(store, a, cell + columns - 1, distance2, handler);
+                        pairsInCell(store, a, cell + columns, distance2, handler);
+                        if (column + 1 < columns)
+                            pairsInCell(store, a, cell + columns + 1, distance2, handler);
+                    }
+                }
+            }
+        }
+    }
+
+    private void pairsInCell(PopperStore store, int a, int cell, float distance2, PairHandler handler) {
+        pairsInCell(store, a, cellStart[cell], cellStart[cell + 1], distance2, handler);
+    }
+
+    private void pairsInCell(PopperStore store, int a, int start, int end, float distance2, PairHandler handler) {
+        float ax = store.x[a], ay = store.y[a];
+        for (int j = start; j < end; ++j) {
+            int b = sorted[j];
+            float dx = ax - store.x[b];
+            float dy = ay - store.y[b];
+            if (dx * dx + dy * dy < distance2)
+                handler.collide(a, b);
+        }
+    }
+
+    private int column(float x) {
+        int column = (int) ((x - originX) / cellSize);
+        return column < 0 ? 0 : (column >= columns ? columns - 1 : column);
+    }
+
+    private int row(float y) {
+        int row = (int) ((y - originY) / cellSize);
+        return row < 0 ? 0 : (row >= rows ? rows - 1 : row);
+    }
+}
@@ -1,62 +1,96 @@
 package Minigames.games.slimePopper;
 
-import com.badlogic.gdx.graphics.g2d.Animation;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
-import com.badlogic.gdx.graphics.g2d.TextureRegion;
-import com.badlogic.gdx.math.MathUtils;
 import com.megacrit.cardcrawl.core.Settings;
-import com.megacrit.cardcrawl.helpers.Hitbox;
-
-import java.util.HashMap;
 
+//A view of one item in a PopperStore. Positions are the bottom left corner, like the Hitbox this used to have.
 public class PopperItem {
-    public TYPE type;
-    public Hitbox hb;
     public static final float SIZE = 32f * Settings.scale;
 
-    public boolean isDying = false;
-    public boolean isDead = false;
+    public final TYPE type;
+    private final PopperStore store;
+    int index; //slot in the store, -1 once removed
+
+    PopperItem(PopperStore store, int index, TYPE type) {
+        this.store = store;
+        this.index = index;
+        this.type = type;
+    }
 
-    public float xVelocity = 0f;
-    public float yVelocity = 0f;
-    public boolean friction = false;
+    public float getX() {
+        return store.x[index];
+    }
 
-    private float animTime = 0f;
+    public float getY() {
+        return store.y[index];
+    }
 
-    private static final HashMap<String, Animation<TextureRegion>> animations = new HashMap<>();
-    private Animation<TextureRegion> animation;
-    TextureRegion frame;
+    public float getCX() {
+        return store.x[index] + SIZE / 2f;
+    }
 
-    public PopperItem(TYPE type, String animationName) {
-        this.type = type;
-        hb = new Hitbox(SIZE, SIZE);
-        setAnimation(animationName);
+    public float getCY() {
+        return store.y[index] + SIZE / 2f;
+    }
+
+    //same as Hitbox.move, takes the center
+    public void move(float cX, float cY) {
+        store.x[index] = cX - SIZE / 2f;
+        store.y[index] = cY - SIZE / 2f;
+    }
+
+    public void moveY(float cY) {
+        store.y[index] = cY - SIZE / 2f;
+    }
+
+    public float getXVelocity() {
+        return store.vx[index];
+    }
+
+    public float getYVelocity() {
+        return store.vy[index];
     }
 
-    public void setAnimation(String animationName) {
-        animation = animations.computeIfAbsent(
-                animationName,
-                key -> new Animation<>(0.1f, SlimePopper.atlas.findRegions(key), Animation.PlayMode.LOOP)
-        );
-        animTime = 0;
+    public void setVelocity(float xVelocity, float yVelocity) {
+        store.vx[index] = xVelocity;
+        store.vy[index] = yVelocity;
+    }
+
+    public boolean isDying() {
+        return (store.flags[index] & PopperStore.DYING) != 0;
+    }
+
+    public boolean isDead() {
+        return (store.flags[index] & PopperStore.DEAD) != 0;
+    }
+
+    public void setFriction(boolean friction) {
+        setFlag(PopperStore.FRICTION, friction);
+    }
+
+    //lice with this are knocked around by the slimes they pop
+    public void setKnockback(boolean knockback) {
+        setFlag(PopperStore.KNOCKBACK, knockback);
+    }
+
+    public void setAnimation(PopperSprite sprite) {
+        store.setAnimation(index, sprite);
     }
 
-    private static final float DEATH_TIME = 0.1f * 7;
     public void update(float elapsed) {
-        animTime += elapsed;
-        frame = animation.getKeyFrame(animTime, true);
-        hb.update();
-        if (friction) {
-            xVelocity = MathUtils.lerp(xVelocity, 0f, animTime / 500f);
-            yVelocity = MathUtils.lerp(yVelocity, 0f, animTime / 500f);
-        }
-        if (isDying && animTime > DEATH_TIME) {
-            isDead = true;
-        }
+        store.animate(index, elapsed);
     }
 
     public void render(SpriteBatch sb) {
-        sb.draw(frame, hb.x, hb.y);
+        sb.draw(store.frame[index], getX(), getY());
+    }
+
+    private void setFlag(byte flag, boolean set) {
+        if (set) {
+            store.flags[index] |= flag;
+        } else {
+            store.flags[index] &= ~flag;
+        }
     }
 
     public enum TYPE {
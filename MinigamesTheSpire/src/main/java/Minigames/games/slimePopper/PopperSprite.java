@@ -0,0 +1,44 @@
+package Minigames.games.slimePopper;
+
+import Minigames.util.AtlasLookup;
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+//Every region of the Slime Popper atlas, resolved once when the atlas is loaded.
+public enum PopperSprite {
+    LOUSE_IDLE("louseIdle"),
+    LOUSE_ROLL("louseRoll"),
+    SLIME_IDLE("slimeIdle"),
+    SLIME_DIE("slimeDie"),
+    METER("meter"),
+    NEEDLE("needle");
+
+    private static final float FRAME_DURATION = 0.1f;
+
+    private final String regionName;
+    private TextureAtlas.AtlasRegion region;
+    private Animation<TextureRegion> animation;
+
+    PopperSprite(String regionName) {
+        this.regionName = regionName;
+    }
+
+    public static void resolve(TextureAtlas atlas) {
+        for (PopperSprite sprite : values()) {
+            Array<TextureAtlas.AtlasRegion> regions = AtlasLookup.findAll(atlas, sprite.regionName);
+            sprite.region = regions.size > 0 ? regions.first() : null;
+            sprite.animation = new Animation<>(FRAME_DURATION, regions, Animation.PlayMode.LOOP);
+        }
+    }
+
+    //first frame, for the sprites that aren't animated
+    public TextureAtlas.AtlasRegion region() {
+        return region;
+    }
+
+    public Animation<TextureRegion> animation() {
+        return animation;
+    }
+}
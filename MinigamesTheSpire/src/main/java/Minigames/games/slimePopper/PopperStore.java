@@ -0,0 +1,215 @@
+package Minigames.games.slimePopper;
+
+import com.badlogic.gdx.graphics.g2d.Animation;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+//Structure of arrays store for the Slime Popper items, so the physics loop walks flat float arrays instead of one object
+//and Hitbox per item. PopperItem is a view of one slot.
+//Removing an item moves the last slot into its place, so slots aren't stable; the views are kept pointing at the right one.
+//Views are only created for items the game holds on to, so filling the board doesn't allocate anything once the arrays are big enough.
+//Live items are counted per type and dying items overall, so the game never has to scan the items to ask about them.
+class PopperStore {
+    static final byte DYING = 1, DEAD = 2, FRICTION = 4, KNOCKBACK = 8;
+    private static final float DEATH_TIME = 0.1f * 7;
+    private static final float WALL_JITTER = 20f; //lice get a random nudge when they hit a wall
+
+    int count = 0;
+    float[] x = new float[64], y = new float[64]; //bottom left corner
+    float[] vx = new float[64], vy = new float[64];
+    float[] animTime = new float[64];
+    byte[] flags = new byte[64];
+    PopperItem.TYPE[] type = new PopperItem.TYPE[64];
+    Animation<TextureRegion>[] animation = newAnimationArray(64);
+    TextureRegion[] frame = new TextureRegion[64];
+    PopperItem[] views = new PopperItem[64]; //null until view() is asked for the slot
+
+    private final int[] live = new int[PopperItem.TYPE.values().length]; //by TYPE ordinal
+    private int dying = 0;
+
+    //returns the slot of the new item, which is only valid until something is removed
+    int add(PopperItem.TYPE itemType, PopperSprite sprite) {
+        if (count == x.length)
+            grow(count * 2);
+
+        int i = count++;
+        x[i] = y[i] = vx[i] = vy[i] = 0;
+        flags[i] = 0;
+        type[i] = itemType;
+        setAnimation(i, sprite);
+        frame[i] = animation[i].getKeyFrame(0, true);
+        views[i] = null;
+        ++live[itemType.ordinal()];
+        return i;
+    }
+
+    PopperItem view(int i) {
+        if (views[i] == null)
+            views[i] = new PopperItem(this, i, type[i]);
+        return views[i];
+    }
+
+    void remove(int i) {
+        if (views[i] != null)
+            views[i].index = -1;
+        --live[type[i].ordinal()];
+        if ((flags[i] & DYING) != 0)
+            --dying;
+
+        int last = --count;
+        if (i != last) {
+            x[i] = x[last];
+            y[i] = y[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            animTime[i] = animTime[last];
+            flags[i] = flags[last];
+            type[i] = type[last];
+            animation[i] = animation[last];
+            frame[i] = frame[last];
+            views[i] = views[last];
+            if (views[i] != null)
+                views[i].index = i;
+        }
+        animation[last] = null;
+        frame[last] = null;
+        views[last] = null;
+    }
+
+    void clear() {
+        while (count > 0)
+            remove(count - 1);
+    }
+
+    int liveCount(PopperItem.TYPE itemType) {
+        return live[itemType.ordinal()];
+    }
+
+    boolean anyDying() {
+        return dying > 0;
+    }
+
+    void setDying(int i) {
+        if ((flags[i] & DYING) == 0) {
+            flags[i] |= DYING;
+            ++dying;
+        }
+    }
+
+    void setAnimation(int i, PopperSprite sprite) {
+        animation[i] = sprite.animation();
+        animTime[i] = 0;
+    }
+
+    //Moves every item, bouncing off the edges of the area, then advances their animations.
+    void bounceAll(float elapsed, float minX, float maxX, float minY, float maxY) {
+        for (int i = 0; i < count; ++i) {
+            move(i, elapsed, minX, maxX, minY, maxY);
+        }
+        for (int i = 0; i < count; ++i) {
+            animate(i, elapsed);
+        }
+    }
+
+    //Same as bounceAll, but only for items of one type.
+    void bounceAll(PopperItem.TYPE only, float elapsed, float minX, float maxX, float minY, float maxY) {
+        for (int i = 0; i < count; ++i) {
+            if (type[i] == only) {
+                move(i, elapsed, minX, maxX, minY, maxY);
+                animate(i, elapsed);
+            }
+        }
+    }
+
+    void animateAll(float elapsed) {
+        for (int i = 0; i < count; ++i) {
+            animate(i, elapsed);
+        }
+    }
+
+    void renderAll(SpriteBatch sb) {
+        for (int i = 0; i < count; ++i) {
+            sb.draw(frame[i], x[i], y[i]);
+        }
+    }
+
+    private void move(int i, float elapsed, float minX, float maxX, float minY, float maxY) {
+        float nextX = x[i] + vx[i] * elapsed;
+        float nextY = y[i] + vy[i] * elapsed;
+        if (nextX <= minX) {
+            nextX = minX;
+            vx[i] = -vx[i] + jitter(i);
+        }
+        if (nextX >= maxX) {
+            nextX = maxX;
+            vx[i] = -vx[i] + jitter(i);
+        }
+        if (nextY <= minY) {
+            nextY = minY;
+            vy[i] = -vy[i] + jitter(i);
+        }
+        if (nextY >= maxY) {
+            nextY = maxY;
+            vy[i] = -vy[i] + jitter(i);
+        }
+        x[i] = nextX;
+        y[i] = nextY;
+    }
+
+    private float jitter(int i) {
+        return type[i] == PopperItem.TYPE.LOUSE ? MathUtils.random(-WALL_JITTER, WALL_JITTER) : 0;
+    }
+
+    void animate(int i, float elapsed) {
+        float time = animTime[i] += elapsed;
+        frame[i] = animation[i].getKeyFrame(time, true);
+        if ((flags[i] & FRICTION) != 0) {
+            float keep = 1 - time / 500f;
+            vx[i] *= keep;
+            vy[i] *= keep;
+        }
+        if ((flags[i] & DYING) != 0 && time > DEATH_TIME) {
+            flags[i] |= DEAD;
+        }
+    }
+
+    private void grow(int size) {
+        x = copy(x, size);
+        y = copy(y, size);
+        vx = copy(vx, size);
+        vy = copy(vy, size);
+        animTime = copy(animTime, size);
+
+        byte[] newFlags = new byte[size];
+        System.arraycopy(flags, 0, newFlags, 0, count);
+        flags = newFlags;
+
+        PopperItem.TYPE[] newType = new PopperItem.TYPE[size];
+        System.arraycopy(type, 0, newType, 0, count);
+        type = newType;
+
+        Animation<TextureRegion>[] newAnimation = newAnimationArray(size);
+        System.arraycopy(animation, 0, newAnimation, 0, count);
+        animation = newAnimation;
+
+        TextureRegion[] newFrame = new TextureRegion[size];
+        System.arraycopy(frame, 0, newFrame, 0, count);
+        frame = newFrame;
+
+        PopperItem[] newViews = new PopperItem[size];
+        System.arraycopy(views, 0, newViews, 0, count);
+        views = newViews;
+    }
+
+    private float[] copy(float[] array, int size) {
+        float[] copy = new float[size];
+        System.arraycopy(array, 0, copy, 0, count);
+        return copy;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Animation<TextureRegion>[] newAnimationArray(int size) {
+        return (Animation<TextureRegion>[]) new Animation[size];
+    }
+}
@@ -3,7 +3,11 @@ package Minigames.games.slimePopper;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.mastermind.MastermindMinigame;
-import com.badlogic.gdx.assets.AssetManager;
+import Minigames.util.AllocationMeter;
+import Minigames.util.AssetPreloader;
+import Minigames.util.Headless;
+import Minigames.util.HelperClass;
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -22,7 +26,6 @@ import com.megacrit.cardcrawl.rooms.AbstractRoom;
 
 import java.util.ArrayList;
 import java.util.Map;
-import java.util.stream.IntStream;
 
 import static Minigames.Minigames.makeID;
 
@@ -36,17 +39,25 @@ import static Minigames.Minigames.makeID;
 public class SlimePopper extends AbstractMinigame {
     public static final String ASSET_PATH = "minigamesResources/img/games/slimePopper/sprites.atlas";
     public static final String BACKGROUND_PATH = "minigamesResources/img/games/slimePopper/background.png";
-    public static final AssetManager assetManager = new AssetManager();
     public static TextureAtlas atlas;
     private static Texture background;
 
 
-    private ArrayList<PopperItem> items;
+    private final PopperStore items = new PopperStore();
     private final float minX = x - SIZE * 0.5f * Settings.scale;
     private final float maxX = x + SIZE * 0.5f * Settings.scale - PopperItem.SIZE;
     private final float minY = y - SIZE * 0.5f * Settings.scale;
     private final float maxY = y + SIZE * 0.5f * Settings.scale - PopperItem.SIZE;
 
+    private static final float COLLISION_DISTANCE = 20f; //between item centers
+    private final PopperGrid grid = new PopperGrid(minX, minY, maxX - minX + PopperItem.SIZE, maxY - minY + PopperItem.SIZE, Math.max(PopperItem.SIZE, COLLISION_DISTANCE));
+    private final PopperGrid.PairHandler collider = this::collide;
+    private boolean solidItems = false; //whether slimes bounce off slimes and lice off lice. Off in the normal game, where slimes overlap
+
+    //Stress test: a board full of moving items that never ends, to measure how the tick scales with item count
+    public static final int STRESS_PHASE = 8;
+    private int stressSlimes, stressLice;
+
     private float meterPercent = 0f;
     private boolean meterUp = false;
 
@@ -61,76 +72,100 @@ public class SlimePopper extends AbstractMinigame {
     @Override
     public void initialize() {
         super.initialize();
-        if (!assetManager.isLoaded(ASSET_PATH)) {
-            assetManager.load(ASSET_PATH, TextureAtlas.class);
-            assetManager.finishLoadingAsset(ASSET_PATH);
+        //kept loaded for good, PopperItem caches animations made from the atlas regions
+        if (atlas == null) {
+            atlas = AssetPreloader.retain(ASSET_PATH, TextureAtlas.class, null);
+            PopperSprite.resolve(atlas);
+        }
+        if (background == null) {
+            background = AssetPreloader.retain(BACKGROUND_PATH, Texture.class, null);
+        }
+    }
+
+    @Override
+    public void declareAssets(ArrayList<AssetDescriptor<?>> assets) {
+        super.declareAssets(assets);
+        if (atlas == null) {
+            assets.add(new AssetDescriptor<>(ASSET_PATH, TextureAtlas.class));
         }
-        if (!assetManager.isLoaded(BACKGROUND_PATH)) {
-            assetManager.load(BACKGROUND_PATH, Texture.class);
-            assetManager.finishLoadingAsset(BACKGROUND_PATH);
+        if (background == null) {
+            assets.add(new AssetDescriptor<>(BACKGROUND_PATH, Texture.class));
         }
-        atlas = assetManager.get(ASSET_PATH, TextureAtlas.class);
-        background = assetManager.get(BACKGROUND_PATH, Texture.class);
-        items = new ArrayList<>();
     }
 
     @Override
     public void update(float elapsed) {
         super.update(elapsed);
+        if (Settings.isDebug && phase != 0 && phase != 3) { //0 and 3 set up a board, everything else should be allocation free
+            long start = AllocationMeter.allocatedBytes();
+            updatePhase(elapsed);
+            AllocationMeter.check(start, "SlimePopper.update");
+        } else {
+            updatePhase(elapsed);
+        }
+    }
+
+    private void updatePhase(float elapsed) {
         switch (phase) {
             case 0:
                 phase = 1;
                 setupBoard1();
-                items.forEach(i -> i.update(elapsed));
-                CardCrawlGame.sound.play("VO_CULTIST_1A");
+                items.animateAll(elapsed);
+                HelperClass.playSound("VO_CULTIST_1A");
                 popCount = 0;
                 break;
             case 1:
-                items.forEach(i -> i.update(elapsed));
+                items.animateAll(elapsed);
                 bounceMeter(elapsed);
                 break;
             case 2:
-                items.forEach(i -> bounce(i, elapsed));
+                items.bounceAll(elapsed, minX, maxX, minY, maxY);
                 collisionDetect();
-                if (Math.abs(louse1.xVelocity) < 1f && Math.abs(louse1.yVelocity) < 1f
-                        && Math.abs(louse2.xVelocity) < 1f && Math.abs(louse2.yVelocity) < 1f) {
+                if (Math.abs(louse1.getXVelocity()) < 1f && Math.abs(louse1.getYVelocity()) < 1f
+                        && Math.abs(louse2.getXVelocity()) < 1f && Math.abs(louse2.getYVelocity()) < 1f) {
                     phase = 3;
                 }
                 break;
             case 3:
                 phase = 4;
                 setupBoard2();
-                items.forEach(i -> i.update(elapsed));
-                CardCrawlGame.sound.play("VO_CULTIST_1A");
+                items.animateAll(elapsed);
+                HelperClass.playSound("VO_CULTIST_1A");
                 break;
             case 4:
-                items.stream().filter(i -> i.type == PopperItem.TYPE.SLIME).forEach(i -> bounce(i, elapsed));
-                louse3.hb.move(MathUtils.clamp(InputHelper.mX, minX + PopperItem.SIZE, maxX), minY + PopperItem.SIZE * 2f);
+                //the slimes wander around the middle until the louse is launched
+                items.bounceAll(PopperItem.TYPE.SLIME, elapsed, x - SIZE / 4f, x + SIZE / 4f, y - SIZE / 4f, y + SIZE / 4f);
+                louse3.move(MathUtils.clamp(InputHelper.mX, minX + PopperItem.SIZE, maxX), minY + PopperItem.SIZE * 2f);
                 louse3.update(elapsed);
                 break;
             case 5:
-                items.stream().filter(i -> i.type == PopperItem.TYPE.SLIME).forEach(i -> bounce(i, elapsed));
+                items.bounceAll(PopperItem.TYPE.SLIME, elapsed, minX, maxX, minY, maxY);
 
-                float nextY = louse3.hb.y + louse3.yVelocity * elapsed;
+                float nextY = louse3.getY() + louse3.getYVelocity() * elapsed;
                 if (nextY >= maxY) {
                     phase = 6;
-                    items.remove(louse3);
+                    items.remove(louse3.index);
                     louse3 = null;
                 } else {
-                    louse3.hb.moveY(nextY + PopperItem.SIZE / 2f);
+                    louse3.moveY(nextY + PopperItem.SIZE / 2f);
                     louse3.update(elapsed);
                 }
                 collisionDetect();
                 break;
             case 6:
-                items.forEach(i -> bounce(i, elapsed));
+                items.bounceAll(elapsed, minX, maxX, minY, maxY);
                 collisionDetect();
-                if (items.stream().noneMatch(item -> item.isDying)) {
+                if (!items.anyDying()) {
                     phase = 7;
                 }
                 break;
             case 7:
                 break;
+            case STRESS_PHASE:
+                items.bounceAll(elapsed, minX, maxX, minY, maxY);
+                collisionDetect();
+                fillStressBoard();
+                break;
         }
     }
 
@@ -150,12 +185,12 @@ public class SlimePopper extends AbstractMinigame {
             // render meter
             float x = maxX;
             float y = Interpolation.linear.apply(minY, minY + METER_H, meterPercent);
-            TextureAtlas.AtlasRegion meter = atlas.findRegion("meter");
-            TextureAtlas.AtlasRegion needle = atlas.findRegion("needle");
+            TextureAtlas.AtlasRegion meter = PopperSprite.METER.region();
+            TextureAtlas.AtlasRegion needle = PopperSprite.NEEDLE.region();
             sb.draw(meter, x, minY);
             sb.draw(needle, x - NEEDLE_OFFSET, y - NEEDLE_OFFSET);
         }
-        items.forEach(i -> i.render(sb));
+        items.renderAll(sb);
         if (phase == 1) {
             FontHelper.renderFontCentered(sb, FontHelper.smallDialogOptionFont, dict.get("POWER_UP"), x, y - SIZE / 4f, Color.GOLD);
         }
@@ -170,27 +205,28 @@ public class SlimePopper extends AbstractMinigame {
         }
     }
 
-    private void handleClick(Vector2 clickPos) {
+    void handleClick(Vector2 clickPos) { //package-private for the update benchmark
         if (phase == 1) {
             float factor = Math.abs(meterPercent - 0.5f) * 2f;
             float roll = 45f + 45f * MathUtils.random(-factor, factor);
             float xFac = MathUtils.cosDeg(roll);
             float yFac = MathUtils.sinDeg(roll);
-            louse1.xVelocity = 1000f + xFac * 500f - 800f * factor;
-            louse1.yVelocity = 1000f + yFac * 500f - 800f * factor;
-            louse1.setAnimation("louseRoll");
-            louse2.xVelocity = -1000f - yFac * 500f + 800f * factor;
-            louse2.yVelocity = 1000f + xFac * 500f - 800f * factor;
-            louse2.setAnimation("louseRoll");
-            CardCrawlGame.sound.play("BLUNT_FAST");
+            louse1.setVelocity(1000f + xFac * 500f - 800f * factor, 1000f + yFac * 500f - 800f * factor);
+            louse1.setAnimation(PopperSprite.LOUSE_ROLL);
+            louse2.setVelocity(-1000f - yFac * 500f + 800f * factor, 1000f + xFac * 500f - 800f * factor);
+            louse2.setAnimation(PopperSprite.LOUSE_ROLL);
+            HelperClass.playSound("BLUNT_FAST");
             phase = 2;
         } else if (phase == 4) {
-            louse3.yVelocity = 800f;
-            louse3.setAnimation("louseRoll");
-            CardCrawlGame.sound.play("BLUNT_FAST");
+            louse3.setVelocity(louse3.getXVelocity(), 800f);
+            louse3.setAnimation(PopperSprite.LOUSE_ROLL);
+            HelperClass.playSound("BLUNT_FAST");
             phase = 5;
         } else if (phase == 7) {
             isDone = true;
+            if (Headless.enabled) {
+                return;
+            }
             AbstractRoom room = AbstractDungeon.getCurrRoom();
             room.rewards.clear();
             room.addGoldToRewards(5 * popCount);
@@ -214,27 +250,23 @@ public class SlimePopper extends AbstractMinigame {
 
     private void setupBoard1() {
         items.clear();
-        louse1 = new PopperItem(PopperItem.TYPE.LOUSE, "louseIdle");
-        louse1.hb.move(minX + PopperItem.SIZE * 1.5f, minY + PopperItem.SIZE / 2f);
-        louse1.friction = true;
-        items.add(louse1);
-
-        louse2 = new PopperItem(PopperItem.TYPE.LOUSE, "louseIdle");
-        louse2.hb.move(maxX - PopperItem.SIZE, minY + PopperItem.SIZE / 2f);
-        louse2.friction = true;
-        items.add(louse2);
-
-        Float[] col = new Float[7];
-        Float[] row = new Float[7];
-        IntStream.rangeClosed(-3, 3).forEachOrdered(i -> col[i + 3] = x + PopperItem.SIZE * 1.5f * i);
-        IntStream.rangeClosed(-3, 3).forEachOrdered(i -> row[i + 3] = y + PopperItem.SIZE * 2f + PopperItem.SIZE * 1.5f * i);
+        louse1 = addItem(PopperItem.TYPE.LOUSE, PopperSprite.LOUSE_IDLE);
+        louse1.move(minX + PopperItem.SIZE * 1.5f, minY + PopperItem.SIZE / 2f);
+        louse1.setFriction(true);
+        louse1.setKnockback(true);
+
+        louse2 = addItem(PopperItem.TYPE.LOUSE, PopperSprite.LOUSE_IDLE);
+        louse2.move(maxX - PopperItem.SIZE, minY + PopperItem.SIZE / 2f);
+        louse2.setFriction(true);
+        louse2.setKnockback(true);
+
+        float[] col = boardColumns();
+        float[] row = boardRows();
         for (int i = 0; i < 7; i++) {
             int countForRow = 7 - Math.abs(6 - i * 2);
             int startCol = Math.abs(-3 + i);
             for (int j = 0; j < countForRow; j++) {
-                PopperItem slime = new PopperItem(PopperItem.TYPE.SLIME, "slimeIdle");
-                slime.hb.move(col[startCol + j], row[i]);
-                items.add(slime);
+                addItem(PopperItem.TYPE.SLIME, PopperSprite.SLIME_IDLE).move(col[startCol + j], row[i]);
             }
         }
     }
@@ -243,52 +275,36 @@ public class SlimePopper extends AbstractMinigame {
         items.clear();
         louse1 = louse2 = null;
 
-        Float[] col = new Float[7];
-        Float[] row = new Float[7];
-        IntStream.rangeClosed(-3, 3).forEachOrdered(i -> col[i + 3] = x + PopperItem.SIZE * 1.5f * i);
-        IntStream.rangeClosed(-3, 3).forEachOrdered(i -> row[i + 3] = y + PopperItem.SIZE * 2f + PopperItem.SIZE * 1.5f * i);
+        float[] col = boardColumns();
+        float[] row = boardRows();
         for (int i = 0; i < 14; i++) {
-            PopperItem slime = new PopperItem(PopperItem.TYPE.SLIME, "slimeIdle");
-            slime.hb.move(col[i % 7], row[i % 7]);
-            slime.yVelocity = 0f;
-            slime.xVelocity = 75f + 25f * (i % 3) * (i % 2 == 0 ? -1 : 1);
-            items.add(slime);
+            PopperItem slime = addItem(PopperItem.TYPE.SLIME, PopperSprite.SLIME_IDLE);
+            slime.move(col[i % 7], row[i % 7]);
+            slime.setVelocity(75f + 25f * (i % 3) * (i % 2 == 0 ? -1 : 1), 0f);
         }
 
-        louse3 = new PopperItem(PopperItem.TYPE.LOUSE, "louseIdle");
-        louse3.hb.move(x, minY + PopperItem.SIZE / 2f);
-        items.add(louse3);
+        louse3 = addItem(PopperItem.TYPE.LOUSE, PopperSprite.LOUSE_IDLE);
+        louse3.move(x, minY + PopperItem.SIZE / 2f);
     }
 
-    private void bounce(PopperItem i, float elapsed) {
-        float minX = (phase == 4) ? x - SIZE / 4f : this.minX;
-        float maxX = (phase == 4) ? x + SIZE / 4f : this.maxX;
-        float minY = (phase == 4) ? y - SIZE / 4f : this.minY;
-        float maxY = (phase == 4) ? y + SIZE / 4f : this.maxY;
-        float nextX = i.hb.x + i.xVelocity * elapsed;
-        float nextY = i.hb.y + i.yVelocity * elapsed;
-        if (nextX <= minX) {
-            nextX = minX;
-            i.xVelocity *= -1;
-            if (i.type == PopperItem.TYPE.LOUSE) i.xVelocity += MathUtils.random(-20f, 20f);
-        }
-        if (nextX >= maxX) {
-            nextX = maxX;
-            i.xVelocity *= -1;
-            if (i.type == PopperItem.TYPE.LOUSE) i.xVelocity += MathUtils.random(-20f, 20f);
-        }
-        if (nextY <= minY) {
-            nextY = minY;
-            i.yVelocity *= -1;
-            if (i.type == PopperItem.TYPE.LOUSE) i.yVelocity += MathUtils.random(-20f, 20f);
+    private float[] boardColumns() {
+        float[] col = new float[7];
+        for (int i = -3; i <= 3; i++) {
+            col[i + 3] = x + PopperItem.SIZE * 1.5f * i;
         }
-        if (nextY >= maxY) {
-            nextY = maxY;
-            i.yVelocity *= -1;
-            if (i.type == PopperItem.TYPE.LOUSE) i.yVelocity += MathUtils.random(-20f, 20f);
+        return col;
+    }
+
+    private float[] boardRows() {
+        float[] row = new float[7];
+        for (int i = -3; i <= 3; i++) {
+            row[i + 3] = y + PopperItem.SIZE * 2f + PopperItem.SIZE * 1.5f * i;
         }
-        i.hb.move(nextX + PopperItem.SIZE / 2f, nextY + PopperItem.SIZE / 2f);
-        i.update(elapsed);
+        return row;
+    }
+
+    private PopperItem addItem(PopperItem.TYPE type, PopperSprite sprite) {
+        return items.view(items.add(type, sprite));
     }
 
     private static final float METER_DELTA = 2f;
@@ -308,38 +324,91 @@ public class SlimePopper extends AbstractMinigame {
         }
     }
 
-    private boolean near(PopperItem a, PopperItem b) {
-        float dx = a.hb.cX - b.hb.cX;
-        float dy = a.hb.cY - b.hb.cY;
-        double dist = Math.sqrt(dx * dx + dy * dy);
-        return dist < 20;
+    private void collisionDetect() {
+        //from the end, so the slot swapped into a removed one has already been checked
+        for (int i = items.count - 1; i >= 0; --i) {
+            if ((items.flags[i] & PopperStore.DEAD) != 0) {
+                popCount += 1;
+                items.remove(i);
+            }
+        }
+
+        grid.build(items);
+        grid.forEachPair(items, COLLISION_DISTANCE, collider);
     }
 
-    private void collisionDetect() {
-        items.removeIf(item -> {
-            if (item.isDead) popCount += 1;
-            return item.isDead;
-        });
-        items.stream().filter(item -> item.type == PopperItem.TYPE.SLIME && !item.isDying)
-                .forEach(slime -> {
-                    if (louse1 != null && near(louse1, slime)) {
-                        slime.isDying = true;
-                        slime.setAnimation("slimeDie");
-                        louse1.xVelocity = louse1.xVelocity * 0.8f + MathUtils.random(-20f, 20f);
-                        louse1.yVelocity = louse1.yVelocity * 0.8f + MathUtils.random(-20f, 20f);
-                        CardCrawlGame.sound.play("MONSTER_SLIME_ATTACK");
-                    } else if (louse2 != null && near(louse2, slime)) {
-                        slime.isDying = true;
-                        slime.setAnimation("slimeDie");
-                        louse2.xVelocity = louse2.xVelocity * 0.8f + MathUtils.random(-20f, 20f);
-                        louse2.yVelocity = louse2.yVelocity * 0.8f + MathUtils.random(-20f, 20f);
-                        CardCrawlGame.sound.play("MONSTER_SLIME_ATTACK");
-                    } else if (louse3 != null && near(louse3, slime)) {
-                        slime.isDying = true;
-                        slime.setAnimation("slimeDie");
-                        CardCrawlGame.sound.play("MONSTER_SLIME_ATTACK");
-                    }
-                });
+    private void collide(int a, int b) {
+        if (items.type[a] != items.type[b]) {
+            int louse = items.type[a] == PopperItem.TYPE.LOUSE ? a : b;
+            int slime = louse == a ? b : a;
+            if ((items.flags[slime] & PopperStore.DYING) == 0) {
+                pop(louse, slime);
+            }
+        } else if (solidItems && ((items.flags[a] | items.flags[b]) & PopperStore.DYING) == 0) {
+            bounceApart(a, b);
+        }
+    }
+
+    private void pop(int louse, int slime) {
+        items.setDying(slime);
+        items.setAnimation(slime, PopperSprite.SLIME_DIE);
+        if ((items.flags[louse] & PopperStore.KNOCKBACK) != 0) {
+            items.vx[louse] = items.vx[louse] * 0.8f + MathUtils.random(-20f, 20f);
+            items.vy[louse] = items.vy[louse] * 0.8f + MathUtils.random(-20f, 20f);
+        }
+        HelperClass.playSound("MONSTER_SLIME_ATTACK");
+    }
+
+    //Elastic collision between two items of equal mass: swaps their velocities along the line between their centers.
+    private void bounceApart(int a, int b) {
+        float dx = items.x[b] - items.x[a];
+        float dy = items.y[b] - items.y[a];
+        float distance2 = dx * dx + dy * dy;
+        if (distance2 == 0) {
+            return;
+        }
+        float impulse = ((items.vx[b] - items.vx[a]) * dx + (items.vy[b] - items.vy[a]) * dy) / distance2;
+        if (impulse >= 0) {
+            return; //already moving apart
+        }
+        items.vx[a] += impulse * dx;
+        items.vy[a] += impulse * dy;
+        items.vx[b] -= impulse * dx;
+        items.vy[b] -= impulse * dy;
+    }
+
+    /**
+     * Replaces the board with randomly placed moving slimes and lice that bounce off each other, and keeps the slime count
+     * topped up as they're popped. The game stays in STRESS_PHASE until it is closed.
+     */
+    public void startStressTest(int slimes, int lice) {
+        items.clear();
+        louse1 = louse2 = louse3 = null;
+        stressSlimes = slimes;
+        stressLice = lice;
+        solidItems = true;
+        fillStressBoard();
+        phase = STRESS_PHASE;
+    }
+
+    private void fillStressBoard() {
+        for (int slimes = items.liveCount(PopperItem.TYPE.SLIME); slimes < stressSlimes; ++slimes) {
+            spawnStressItem(PopperItem.TYPE.SLIME, PopperSprite.SLIME_IDLE, 150f);
+        }
+        for (int lice = items.liveCount(PopperItem.TYPE.LOUSE); lice < stressLice; ++lice) {
+            int louse = spawnStressItem(PopperItem.TYPE.LOUSE, PopperSprite.LOUSE_ROLL, 600f);
+            items.flags[louse] |= PopperStore.KNOCKBACK;
+        }
+    }
+
+    //works on the slot directly, so refilling the board doesn't create a view per item
+    private int spawnStressItem(PopperItem.TYPE type, PopperSprite sprite, float speed) {
+        int i = items.add(type, sprite);
+        items.x[i] = MathUtils.random(minX, maxX);
+        items.y[i] = MathUtils.random(minY, maxY);
+        items.vx[i] = MathUtils.random(-speed, speed);
+        items.vy[i] = MathUtils.random(-speed, speed);
+        return i;
     }
 
     public AbstractMinigame makeCopy(){ return new SlimePopper(); }
@@ -3,6 +3,7 @@ package Minigames.games.test;
 import Minigames.games.AbstractMinigame;
 import Minigames.games.input.bindings.BindingGroup;
 import Minigames.games.mastermind.MastermindMinigame;
+import Minigames.util.TextureLoader;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
@@ -10,7 +11,6 @@ import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector2;
 import com.megacrit.cardcrawl.events.GenericEventDialog;
 import com.megacrit.cardcrawl.helpers.Hitbox;
-import com.megacrit.cardcrawl.helpers.ImageMaster;
 
 import static Minigames.Minigames.makeGamePath;
 
@@ -21,7 +21,8 @@ import static Minigames.Minigames.makeGamePath;
 
 //Pretty much all features are optional, the only part that I would strongly recommend using is the input stuff.
 //If you wanna completely change how it's rendered/is initialized, feel free
-//If you don't wanna put in the effort of managing the textures, just use the TextureLoader
+//If you don't wanna put in the effort of managing the textures, just use TextureLoader.getTexture
+//Otherwise, TextureLoader.acquire and release them yourself so shared textures are only loaded once
 //(If you have a lot or really big textures, please do manage them.)
 
 public class TestMinigame extends AbstractMinigame {
@@ -151,7 +152,7 @@ public class TestMinigame extends AbstractMinigame {
             position = new Vector2(0, 0);
             targetPoint = null;
 
-            t = ImageMaster.loadImage(makeGamePath("testgame/player.png"));
+            t = TextureLoader.acquire(makeGamePath("testgame/player.png"));
             c = Color.CYAN.cpy();
 
             hb = new Hitbox(SIZE, SIZE);
@@ -256,7 +257,7 @@ public class TestMinigame extends AbstractMinigame {
         }
 
         public void dispose() {
-            t.dispose();
+            TextureLoader.release(t);
         }
     }
 
@@ -276,7 +277,7 @@ public class TestMinigame extends AbstractMinigame {
             this.parent = parent;
             position = new Vector2(0, 0);
 
-            t = ImageMaster.loadImage(makeGamePath("testgame/star.png"));
+            t = TextureLoader.acquire(makeGamePath("testgame/star.png"));
             c = Color.GOLD.cpy();
 
             hb = new Hitbox(SIZE, SIZE);
@@ -297,7 +298,7 @@ public class TestMinigame extends AbstractMinigame {
         }
 
         public void dispose() {
-            t.dispose();
+            TextureLoader.release(t);
         }
     }
 
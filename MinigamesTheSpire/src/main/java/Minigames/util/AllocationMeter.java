@@ -0,0 +1,60 @@
+package Minigames.util;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashSet;
+
+// Debug helper for checking that per-frame code paths don't allocate.
+// Wrap the code in allocatedBytes()/check() and it logs whenever the current thread allocated anything in between.
+
+public class AllocationMeter {
+    public static final Logger logger = LogManager.getLogger(AllocationMeter.class.getName());
+
+    private static final com.sun.management.ThreadMXBean threads;
+    private static final long overhead; //bytes allocated by the measurement itself
+    private static final HashSet<String> reported = new HashSet<>();
+
+    static {
+        java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean && ((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            threads = (com.sun.management.ThreadMXBean) bean;
+            threads.setThreadAllocatedMemoryEnabled(true);
+
+            long min = Long.MAX_VALUE;
+            for (int i = 0; i < 16; ++i) {
+                long start = allocatedBytes();
+                min = Math.min(min, allocatedBytes() - start);
+            }
+            overhead = min;
+        }
+        else {
+            threads = null;
+            overhead = 0;
+        }
+    }
+
+    public static boolean isSupported() {
+        return threads != null;
+    }
+
+    //total bytes allocated by the current thread so far, 0 if the JVM can't tell
+    public static long allocatedBytes() {
+        if (threads == null)
+            return 0;
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    //bytes allocated since start was taken, not counting the measurement
+    public static long since(long start) {
+        return Math.max(0, allocatedBytes() - start - overhead);
+    }
+
+    //logs the first time each checked section allocates, so a per-frame check doesn't flood the log
+    public static void check(long start, String what) {
+        long bytes = since(start);
+        if (bytes > 0 && reported.add(what))
+            logger.warn(what + " allocated " + bytes + " bytes");
+    }
+}
@@ -0,0 +1,144 @@
+package Minigames.util;
+
+import Minigames.games.AbstractMinigame;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetDescriptor;
+import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+// Loads the assets of the minigames an event offers while the player is still reading the options,
+// so starting a game doesn't have to decode everything on the frame the option is clicked.
+// All minigame assets (including the ones from TextureLoader) live in this AssetManager, which does its own reference counting.
+
+public class AssetPreloader {
+    public static final AssetManager assetManager = new AssetManager();
+    public static final Logger logger = LogManager.getLogger(AssetPreloader.class.getName());
+
+    private static final int FRAME_BUDGET = 4; //milliseconds per frame the preloader may spend finishing loads on the render thread
+
+    private static final HashMap<AbstractMinigame, ArrayList<AssetDescriptor<?>>> preloads = new HashMap<>(); //game : assets queued for it
+
+    /**
+     * Queues every asset the game declares. Each queued asset holds a reference until the game is released.
+     */
+    public static void preload(AbstractMinigame game) {
+        if (Headless.enabled || preloads.containsKey(game))
+            return;
+
+        ArrayList<AssetDescriptor<?>> assets = new ArrayList<>();
+        game.declareAssets(assets);
+
+        for (AssetDescriptor<?> asset : assets) {
+            if (!Gdx.files.internal(asset.fileName).exists()) {
+                logger.error("Not preloading missing asset: " + asset.fileName);
+                continue;
+            }
+            assetManager.load(asset);
+        }
+        assets.removeIf(asset -> !assetManager.contains(asset.fileName));
+        preloads.put(game, assets);
+    }
+
+    //Should be called each frame while an event with preloaded games is open.
+    public static void update() {
+        if (assetManager.getQueuedAssets() > 0) {
+            try {
+                assetManager.update(FRAME_BUDGET);
+            } catch (GdxRuntimeException e) {
+                logger.error("Failed to preload asset", e);
+            }
+        }
+    }
+
+    /**
+     * @return the fraction of the game's declared assets that are already loaded, 1 if nothing was preloaded
+     */
+    public static float getProgress(AbstractMinigame game) {
+        ArrayList<AssetDescriptor<?>> assets = preloads.get(game);
+        if (assets == null || assets.isEmpty())
+            return 1;
+
+        int loaded = 0;
+        for (AssetDescriptor<?> asset : assets) {
+            if (assetManager.isLoaded(asset.fileName))
+                ++loaded;
+        }
+        return loaded / (float) assets.size();
+    }
+
+    //Blocks until the assets preloaded for this game are resident. Assets that are already loaded cost nothing.
+    public static void finishLoading(AbstractMinigame game) {
+        ArrayList<AssetDescriptor<?>> assets = preloads.get(game);
+        if (assets == null)
+            return;
+
+        for (AssetDescriptor<?> asset : assets) {
+            if (!assetManager.isLoaded(asset.fileName)) {
+                try {
+                    assetManager.finishLoadingAsset(asset.fileName);
+                } catch (GdxRuntimeException e) {
+                    logger.error("Failed to load asset: " + asset.fileName, e);
+                }
+            }
+        }
+    }
+
+    //Drops the references held for a game. Assets still queued are removed from the queue instead of loaded.
+    public static void release(AbstractMinigame game) {
+        ArrayList<AssetDescriptor<?>> assets = preloads.remove(game);
+        if (assets == null)
+            return;
+
+        for (AssetDescriptor<?> asset : assets) {
+            if (assetManager.contains(asset.fileName))
+                assetManager.unload(asset.fileName);
+        }
+    }
+
+    public static void releaseAllExcept(AbstractMinigame keep) {
+        for (AbstractMinigame game : new ArrayList<>(preloads.keySet())) {
+            if (game != keep)
+                release(game);
+        }
+    }
+
+    public static void releaseAll() {
+        releaseAllExcept(null);
+    }
+
+    /**
+     * Loads an asset immediately if it isn't loaded yet and adds a reference to it. Balance with assetManager.unload.
+     *
+     * When running headless nothing is loaded: atlases are replaced by Headless.atlas, anything else is null.
+     *
+     * @throws GdxRuntimeException if the file does not exist or fails to load
+     */
+    public static <T> T retain(String fileName, Class<T> type, AssetLoaderParameters<T> parameter) throws GdxRuntimeException {
+        if (Headless.enabled)
+            return type == TextureAtlas.class ? type.cast(Headless.atlas) : null;
+
+        if (assetManager.isLoaded(fileName, type)) {
+            assetManager.setReferenceCount(fileName, assetManager.getReferenceCount(fileName) + 1);
+        } else {
+            if (!Gdx.files.internal(fileName).exists())
+                throw new GdxRuntimeException("File not found: " + fileName);
+
+            assetManager.load(fileName, type, parameter);
+            assetManager.finishLoadingAsset(fileName);
+        }
+        return assetManager.get(fileName, type);
+    }
+
+    //Releases a reference added by retain. The asset is disposed once nothing else holds it.
+    public static void release(String fileName) {
+        if (!Headless.enabled && assetManager.isLoaded(fileName))
+            assetManager.unload(fileName);
+    }
+}
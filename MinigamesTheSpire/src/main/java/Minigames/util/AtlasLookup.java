@@ -0,0 +1,32 @@
+package Minigames.util;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.utils.Array;
+
+// findRegion is a linear scan with a string compare per region, so it should only run while an atlas is being resolved.
+// Lookups made through here are counted, so debug mode can catch any that sneak into a game's update or render.
+
+public class AtlasLookup {
+    private static int count = 0;
+
+    public static TextureAtlas.AtlasRegion find(TextureAtlas atlas, String name) {
+        ++count;
+        TextureAtlas.AtlasRegion region = atlas.findRegion(name);
+        if (region == null)
+            TextureLoader.logger.error("Atlas has no region named " + name);
+        return region;
+    }
+
+    public static Array<TextureAtlas.AtlasRegion> findAll(TextureAtlas atlas, String name) {
+        ++count;
+        Array<TextureAtlas.AtlasRegion> regions = atlas.findRegions(name);
+        if (regions.size == 0)
+            TextureLoader.logger.error("Atlas has no regions named " + name);
+        return regions;
+    }
+
+    //total number of lookups made so far
+    public static int getCount() {
+        return count;
+    }
+}
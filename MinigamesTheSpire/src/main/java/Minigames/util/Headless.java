@@ -0,0 +1,48 @@
+package Minigames.util;
+
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.Array;
+
+// Lets minigames run their update logic without a GL context or a running game, for simulations and benchmarks.
+// While enabled: textures aren't loaded, atlases are replaced by one that returns empty regions,
+// sounds aren't played, and games skip giving their rewards.
+// Enable with -Dminigames.headless=true, or set enabled before any minigame is created.
+
+public class Headless {
+    public static boolean enabled = Boolean.getBoolean("minigames.headless");
+
+    //Returned by AssetPreloader.retain in place of every atlas. All regions are empty and have no texture.
+    public static final TextureAtlas atlas = new StubAtlas();
+
+    private static class StubAtlas extends TextureAtlas {
+        private final AtlasRegion region = new EmptyRegion();
+        private final Array<AtlasRegion> regions = new Array<>(new AtlasRegion[] { region });
+
+        @Override
+        public AtlasRegion findRegion(String name) {
+            return region;
+        }
+
+        @Override
+        public AtlasRegion findRegion(String name, int index) {
+            return region;
+        }
+
+        @Override
+        public Array<AtlasRegion> findRegions(String name) {
+            return regions;
+        }
+    }
+
+    //AtlasRegion has no constructor that works without a texture; this one skips copying the texture's size
+    private static class EmptyRegion extends TextureAtlas.AtlasRegion {
+        EmptyRegion() {
+            super(new TextureRegion());
+        }
+
+        @Override
+        public void setRegion(TextureRegion region) {
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package Minigames.util;
+
+import Minigames.games.AbstractMinigame;
+import com.megacrit.cardcrawl.core.CardCrawlGame;
+import com.megacrit.cardcrawl.core.Settings;
+import com.megacrit.cardcrawl.dungeons.AbstractDungeon;
+import com.megacrit.cardcrawl.localization.LocalizedStrings;
+import com.megacrit.cardcrawl.random.Random;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Plays minigames start to finish with Headless enabled, timing their update logic.
+// Needs the base game jar on the classpath and Gdx.files set up (a libGDX HeadlessApplication is enough) for localization;
+// nothing else from the running game is used.
+
+public class HeadlessRunner {
+    public static final Logger logger = LogManager.getLogger(HeadlessRunner.class.getName());
+
+    public static class Result {
+        public int sessions;
+        public int finished; //sessions where the game ended on its own before maxFrames
+        public long frames;
+        public long nanos; //time spent in tick, not counting initialize and dispose
+
+        public double nanosPerFrame() {
+            return frames == 0 ? 0 : nanos / (double) frames;
+        }
+
+        public double sessionsPerSecond() {
+            return nanos == 0 ? 0 : sessions / (nanos / 1e9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d sessions (%d finished), %d frames, %.1f ns/frame, %.1f sessions/s",
+                    sessions, finished, frames, nanosPerFrame(), sessionsPerSecond());
+        }
+    }
+
+    //Enables Headless and fills in the dungeon state the minigames read. Safe to call more than once.
+    public static void setup(long seed) {
+        Headless.enabled = true;
+        if (Settings.scale == 0) { //normally set from the display; without it every board is a point
+            Settings.WIDTH = 1920;
+            Settings.HEIGHT = 1080;
+            Settings.scale = 1;
+        }
+        if (CardCrawlGame.languagePack == null)
+            CardCrawlGame.languagePack = new LocalizedStrings();
+
+        AbstractDungeon.eventRng = new Random(seed);
+        AbstractDungeon.miscRng = new Random(seed + 1);
+        AbstractDungeon.cardRng = new Random(seed + 2);
+        AbstractDungeon.relicRng = new Random(seed + 3);
+    }
+
+    public static <T extends AbstractMinigame> Result run(Supplier<T> factory, int sessions, float frameTime, int maxFrames) {
+        return run(factory, sessions, frameTime, maxFrames, null, null);
+    }
+
+    /**
+     * @param frameTime - elapsed time passed to tick each frame, in seconds
+     * @param maxFrames - a session is stopped after this many frames even if the game isn't done
+     * @param onFrame - called before every tick, to send input to the game. May be null.
+     * @param onFinish - called with each game before it is disposed, to collect its results. May be null.
+     */
+    public static <T extends AbstractMinigame> Result run(Supplier<T> factory, int sessions, float frameTime, int maxFrames, Consumer<T> onFrame, Consumer<T> onFinish) {
+        if (!Headless.enabled)
+            setup(System.nanoTime());
+
+        Result result = new Result();
+        String name = null;
+        for (int i = 0; i < sessions; ++i) {
+            T game = factory.get();
+            name = game.getClass().getSimpleName();
+            game.initialize();
+
+            int frame = 0;
+            long start = System.nanoTime();
+            while (frame < maxFrames && game.playing() && !game.gameDone()) {
+                if (onFrame != null)
+                    onFrame.accept(game);
+                game.tick(frameTime);
+                ++frame;
+            }
+            result.nanos += System.nanoTime() - start;
+            result.frames += frame;
+            if (game.gameDone())
+                ++result.finished;
+            ++result.sessions;
+
+            if (onFinish != null)
+                onFinish.accept(game);
+            game.dispose();
+        }
+
+        logger.info(name + ": " + result);
+        return result;
+    }
+}
@@ -1,6 +1,7 @@
 package Minigames.util;
 
 import com.badlogic.gdx.Gdx;
+import com.megacrit.cardcrawl.core.CardCrawlGame;
 import com.megacrit.cardcrawl.random.Random;
 
 import java.math.BigDecimal;
@@ -27,6 +28,37 @@ public class HelperClass {
         return Gdx.graphics.getRawDeltaTime();
     }
 
+    //Sounds played by minigame logic go through these, so they can run headless (see Headless)
+    public static void playSound(String key) {
+        if (!Headless.enabled) {
+            CardCrawlGame.sound.play(key);
+        }
+    }
+
+    public static void playSound(String key, float volume) {
+        if (!Headless.enabled) {
+            CardCrawlGame.sound.play(key, volume);
+        }
+    }
+
+    public static void playSoundA(String key, float pitchAdjust) {
+        if (!Headless.enabled) {
+            CardCrawlGame.sound.playA(key, pitchAdjust);
+        }
+    }
+
+    public static void playSoundAV(String key, float pitchAdjust, float volumeMod) {
+        if (!Headless.enabled) {
+            CardCrawlGame.sound.playAV(key, pitchAdjust, volumeMod);
+        }
+    }
+
+    public static void stopSound(String key) {
+        if (!Headless.enabled) {
+            CardCrawlGame.sound.stop(key);
+        }
+    }
+
     public static String get2DecString(float num) {
         if (num < 0) {
             num = 0;
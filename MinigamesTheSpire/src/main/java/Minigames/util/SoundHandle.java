@@ -0,0 +1,57 @@
+package Minigames.util;
+
+import basemod.ReflectionHacks;
+import com.megacrit.cardcrawl.audio.Sfx;
+import com.megacrit.cardcrawl.audio.SoundMaster;
+import com.megacrit.cardcrawl.core.CardCrawlGame;
+import com.megacrit.cardcrawl.core.Settings;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.HashMap;
+
+// A sound registered with the game's SoundMaster, looked up once instead of by key every time it plays.
+// Get them with SoundHandle.of(key); there is only ever one handle per key.
+
+public class SoundHandle {
+    public static final Logger logger = LogManager.getLogger(SoundHandle.class.getName());
+
+    private static final HashMap<String, SoundHandle> handles = new HashMap<>();
+
+    public final String key;
+    private Sfx sfx;
+    private boolean resolved = false;
+
+    private SoundHandle(String key) {
+        this.key = key;
+    }
+
+    public static SoundHandle of(String key) {
+        return handles.computeIfAbsent(key, SoundHandle::new);
+    }
+
+    //Looks the sound up if that hasn't happened yet. Should happen on the render thread, after the game's audio is loaded.
+    public void resolve() {
+        if (resolved || Headless.enabled)
+            return;
+
+        HashMap<String, Sfx> sounds = ReflectionHacks.getPrivate(CardCrawlGame.sound, SoundMaster.class, "map");
+        if (sounds != null)
+            sfx = sounds.get(key);
+        if (sfx == null)
+            logger.warn("Couldn't resolve sound " + key + ", playing it by key instead");
+        resolved = true;
+    }
+
+    //Same volume and background muting as SoundMaster.play(key)
+    public long play() {
+        if (Headless.enabled)
+            return 0;
+        resolve();
+        if (sfx == null)
+            return CardCrawlGame.sound.play(key);
+        if (CardCrawlGame.MUTE_IF_BG && Settings.isBackgrounded)
+            return 0;
+        return sfx.play(Settings.SOUND_VOLUME * Settings.MASTER_VOLUME);
+    }
+}
@@ -0,0 +1,101 @@
+package Minigames.util;
+
+// Plays sounds at a game time, for sounds that have to land on a beat.
+// Every update tells the scheduler the game time it runs up to (sync), and the sounds due by then are played. A sound is
+// played on the update closest to its time, so up to half a frame early instead of up to a whole frame late.
+// Queued sounds are kept in a heap of primitive arrays, so queueing doesn't allocate once the arrays are big enough.
+//
+// Sounds are only ever played from sync, on the render thread: OpenAL's source pool isn't thread safe, and the base game
+// and libGDX use it every frame without any lock a timing thread could share.
+//
+// So precision is per frame, not within a few ms: at 60fps a sound can be up to about 8ms early. libGDX's Sound has no
+// way to start a sound after a delay or partway in, so the rest of the frame can't be made up for when playing it.
+// Anything judged against the beat (like Beat Press presses) should use the queued time, not when the sound played.
+
+public class SoundScheduler {
+    private float[] times = new float[32];
+    private SoundHandle[] sounds = new SoundHandle[32];
+    private int size = 0;
+
+    //Queues a sound to play once the game time passes time.
+    public void queue(SoundHandle sound, float time) {
+        sound.resolve();
+
+        if (size == times.length) {
+            float[] newTimes = new float[size * 2];
+            System.arraycopy(times, 0, newTimes, 0, size);
+            times = newTimes;
+            SoundHandle[] newSounds = new SoundHandle[size * 2];
+            System.arraycopy(sounds, 0, newSounds, 0, size);
+            sounds = newSounds;
+        }
+
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (times[parent] <= time)
+                break;
+            times[i] = times[parent];
+            sounds[i] = sounds[parent];
+            i = parent;
+        }
+        times[i] = time;
+        sounds[i] = sound;
+    }
+
+    public void queue(String key, float time) {
+        queue(SoundHandle.of(key), time);
+    }
+
+    /**
+     * Called every update. Plays the sounds due before the next update is halfway here.
+     *
+     * @param time - game time at the start of the update
+     * @param elapsed - the update's elapsed time, so time + elapsed is the game time it runs up to
+     */
+    public void sync(float time, float elapsed) {
+        float due = time + elapsed * 1.5f; //the next update is probably about as far away again
+        while (size > 0 && times[0] < due) {
+            pop().play();
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; ++i) {
+            sounds[i] = null;
+        }
+        size = 0;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private SoundHandle pop() {
+        SoundHandle first = sounds[0];
+
+        int last = --size;
+        float time = times[last];
+        SoundHandle sound = sounds[last];
+        sounds[last] = null;
+
+        int i = 0;
+        while (true) {
+            int child = i * 2 + 1;
+            if (child >= size)
+                break;
+            if (child + 1 < size && times[child + 1] < times[child])
+                ++child;
+            if (times[child] >= time)
+                break;
+            times[i] = times[child];
+            sounds[i] = sounds[child];
+            i = child;
+        }
+        if (size > 0) {
+            times[i] = time;
+            sounds[i] = sound;
+        }
+        return first;
+    }
+}
@@ -1,5 +1,6 @@
 package Minigames.util;
 
+import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.Texture.TextureFilter;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -10,6 +11,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.HashMap;
+import java.util.HashSet;
 
 // Thank you Blank The Evil!
 
@@ -19,25 +21,115 @@ import java.util.HashMap;
 
 public class TextureLoader {
     private static HashMap<String, Texture> textures = new HashMap<String, Texture>();
+    private static HashMap<Texture, String> paths = new HashMap<>(); //reverse lookup, so textures can be released without keeping their path around
+    private static HashMap<String, Integer> references = new HashMap<>(); //acquired textures : number of holders
+    private static HashSet<String> pinned = new HashSet<>(); //textures loaded through getTexture are kept until the game closes
+    private static final String MISSING_TEXTURE = "minigamesResources/img/ui/missing_texture.png";
     public static final Logger logger = LogManager.getLogger(TextureLoader.class.getName());
 
+    private static final com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter PARAMETERS = new com.badlogic.gdx.assets.loaders.TextureLoader.TextureParameter();
+    static {
+        PARAMETERS.minFilter = TextureFilter.Linear;
+        PARAMETERS.magFilter = TextureFilter.Linear;
+    }
+
     /**
      * @param textureString - String path to the texture you want to load relative to resources,
      *                      Example: "theDefaultResources/images/ui/missing_texture.png"
      * @return <b>com.badlogic.gdx.graphics.Texture</b> - The texture from the path provided
      */
     public static Texture getTexture(final String textureString) {
+        if (Headless.enabled)
+            return null;
+        if (textures.get(textureString) == null) {
+            try {
+                loadTexture(textureString);
+            } catch (GdxRuntimeException e) {
+                logger.error("Could not find texture: " + textureString);
+                return getTexture(MISSING_TEXTURE);
+            }
+        }
+        pinned.add(textureString);
+        return textures.get(textureString);
+    }
+
+    /**
+     * Reference counted version of getTexture. Every texture a minigame acquires should be released again when it is
+     * no longer used (generally in dispose); the texture is disposed once the last holder releases it.
+     * Acquiring a path that is already loaded does not load it again. Returns null when running headless.
+     *
+     * @param textureString - String path to the texture you want to load relative to resources,
+     *                      Example: "minigamesResources/img/games/mastermind/1.png"
+     * @return <b>com.badlogic.gdx.graphics.Texture</b> - The texture from the path provided
+     */
+    public static Texture acquire(final String textureString) {
+        if (Headless.enabled)
+            return null;
         if (textures.get(textureString) == null) {
             try {
                 loadTexture(textureString);
             } catch (GdxRuntimeException e) {
                 logger.error("Could not find texture: " + textureString);
-                return getTexture("minigamesResources/img/ui/missing_texture.png");
+                return acquire(MISSING_TEXTURE);
             }
         }
+        references.merge(textureString, 1, Integer::sum);
         return textures.get(textureString);
     }
 
+    /**
+     * Releases one reference to a texture obtained through acquire. Textures that were also requested through
+     * getTexture are never disposed here.
+     *
+     * @param textureString - The same path that was passed to acquire
+     */
+    public static void release(final String textureString) {
+        if (Headless.enabled)
+            return;
+        Integer count = references.get(textureString);
+        if (count == null) {
+            logger.warn("TextureLoader | Released texture that was not acquired: " + textureString);
+            return;
+        }
+
+        if (count > 1) {
+            references.put(textureString, count - 1);
+            return;
+        }
+
+        references.remove(textureString);
+        if (!pinned.contains(textureString)) {
+            Texture texture = textures.remove(textureString);
+            if (texture != null) {
+                paths.remove(texture);
+                logger.info("TextureLoader | Unloading Texture: " + textureString);
+                AssetPreloader.assetManager.unload(textureString); //only disposed once nothing preloaded it either
+            }
+        }
+    }
+
+    /**
+     * @param texture - A texture returned by acquire. Null or unknown textures are ignored.
+     */
+    public static void release(final Texture texture) {
+        if (texture == null)
+            return;
+
+        String textureString = paths.get(texture);
+        if (textureString != null) {
+            release(textureString);
+        }
+    }
+
+    /**
+     * @param textureString - String path to the texture, as it would be passed to acquire
+     * @return <b>com.badlogic.gdx.assets.AssetDescriptor</b> - A descriptor that loads the texture the same way acquire does,
+     *         for use in AbstractMinigame.declareAssets
+     */
+    public static AssetDescriptor<Texture> descriptor(final String textureString) {
+        return new AssetDescriptor<>(textureString, Texture.class, PARAMETERS);
+    }
+
     /**
      * @param - String path to the texture you want to load relative to resources,
      *          * Example: "img/ui/missingtexture.png"
@@ -49,7 +141,8 @@ public class TextureLoader {
     }
 
     /**
-     * Creates an instance of the texture, applies a linear filter to it, and places it in the HashMap
+     * Loads the texture through the shared AssetManager with a linear filter (reusing it if it was preloaded),
+     * and places it in the HashMap
      *
      * @param textureString - String path to the texture you want to load relative to resources,
      *                      Example: "img/ui/missingtexture.png"
@@ -57,9 +150,9 @@ public class TextureLoader {
      */
     private static void loadTexture(final String textureString) throws GdxRuntimeException {
         logger.info("Spicy Shops | Loading Texture: " + textureString);
-        Texture texture = new Texture(textureString);
-        texture.setFilter(TextureFilter.Linear, TextureFilter.Linear);
+        Texture texture = AssetPreloader.retain(textureString, Texture.class, PARAMETERS);
         textures.put(textureString, texture);
+        paths.put(texture, textureString);
     }
 
     @SuppressWarnings("unused")
@@ -71,6 +164,11 @@ public class TextureLoader {
                 if (entry.getValue().equals(__instance)) logger.info("TextureLoader | Removing Texture: " + entry.getKey());
                 return entry.getValue().equals(__instance);
             });
+            String textureString = paths.remove(__instance);
+            if (textureString != null) {
+                references.remove(textureString);
+                pinned.remove(textureString);
+            }
         }
     }
 }
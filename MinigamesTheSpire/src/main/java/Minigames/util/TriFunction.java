@@ -1,5 +0,0 @@
-package Minigames.util;
-
-public interface TriFunction<T, U, V, R> {
-    R apply(T t, U u, V v);
-}